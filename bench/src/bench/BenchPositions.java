@@ -0,0 +1,37 @@
+package bench;
+
+import controller.Game;
+
+/**
+ * Conjunto fixo de posições (FEN) usado por todos os benchmarks, para que as
+ * medições sejam comparáveis entre versões do motor.
+ */
+final class BenchPositions {
+
+    static final String START = "start";
+    static final String KIWIPETE = "kiwipete";
+    static final String MIDDLEGAME = "middlegame";
+    static final String ENDGAME = "endgame";
+    // Lado a jogar em xeque com várias defesas, e em xeque-mate (sem lances legais)
+    static final String IN_CHECK = "incheck";
+    static final String CHECKMATE = "checkmate";
+
+    private BenchPositions() {
+    }
+
+    static String fen(String name) {
+        return switch (name) {
+            case START -> "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+            case KIWIPETE -> "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+            case MIDDLEGAME -> "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+            case ENDGAME -> "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+            case IN_CHECK -> "rnbqkbnr/ppp2ppp/3p4/1B2p3/4P3/8/PPPP1PPP/RNBQK1NR b KQkq - 1 3";
+            case CHECKMATE -> "r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4";
+            default -> throw new IllegalArgumentException("Posição desconhecida: " + name);
+        };
+    }
+
+    static Game game(String name) {
+        return Game.fromFen(fen(name));
+    }
+}
@@ -0,0 +1,46 @@
+package bench;
+
+import controller.Game;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Detecção de mate. Além das posições comuns (sem xeque, resposta imediata)
+ * mede o caso com xeque, que procura uma defesa, e o mate, que precisa
+ * esgotar todos os lances. Fica separado de {@link GameBenchmark} porque lá
+ * o benchmark de execução de lance exige ao menos um lance legal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckmateBenchmark {
+
+    @Param({ BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME,
+            BenchPositions.IN_CHECK, BenchPositions.CHECKMATE })
+    public String position;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = BenchPositions.game(position);
+    }
+
+    @Benchmark
+    public boolean isCheckmate() {
+        return game.isCheckmate(game.whiteToMove());
+    }
+}
@@ -0,0 +1,111 @@
+package bench;
+
+import ai.EvalCache;
+import ai.PawnHashTable;
+import ai.PositionEvaluator;
+import controller.Game;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.board.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks das operações básicas do motor: geração de lances, execução de
+ * lance, avaliação e cópia do tabuleiro. A detecção de mate fica em
+ * {@link CheckmateBenchmark}, que inclui posições sem lances legais.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({ BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME })
+    public String position;
+
+    private Game game;
+    private PositionEvaluator evaluator;
+    private PositionEvaluator uncachedEvaluator;
+    private List<Position> origins;
+    private Position moveFrom;
+    private Position moveTo;
+
+    @Setup
+    public void setup() {
+        game = BenchPositions.game(position);
+        evaluator = new PositionEvaluator(new PawnHashTable(1), new EvalCache(2));
+        uncachedEvaluator = new PositionEvaluator(new PawnHashTable(1), null);
+        origins = new ArrayList<>();
+        for (int r = 0; r < 8; r++) {
+            for (int c = 0; c < 8; c++) {
+                Position p = Position.of(r, c);
+                if (game.board().get(p) != null && game.board().get(p).isWhite() == game.whiteToMove())
+                    origins.add(p);
+            }
+        }
+        // Primeiro lance legal encontrado: usado pelo benchmark de Game.move
+        for (Position from : origins) {
+            List<Position> targets = game.legalMovesFrom(from);
+            if (!targets.isEmpty()) {
+                moveFrom = from;
+                moveTo = targets.get(0);
+                break;
+            }
+        }
+    }
+
+    /** Cópia nova do jogo para cada chamada de move (fora da medição). */
+    @State(Scope.Thread)
+    public static class MoveState {
+        Game copy;
+
+        @Setup(Level.Invocation)
+        public void setup(GameBenchmark b) {
+            copy = b.game.createSnapshot();
+        }
+    }
+
+    @Benchmark
+    public void legalMovesFrom(Blackhole bh) {
+        for (Position p : origins)
+            bh.consume(game.legalMovesFrom(p));
+    }
+
+    @Benchmark
+    public Game move(MoveState s) {
+        s.copy.move(moveFrom, moveTo, 'Q');
+        return s.copy;
+    }
+
+    /** Avaliação repetida da mesma posição: mede o acerto no cache de avaliações. */
+    @Benchmark
+    public int evaluate() {
+        return evaluator.evaluate(game);
+    }
+
+    /** Avaliação completa a cada chamada (sem cache de avaliações). */
+    @Benchmark
+    public int evaluateUncached() {
+        return uncachedEvaluator.evaluate(game);
+    }
+
+    @Benchmark
+    public Object boardCopy() {
+        return game.board().copy();
+    }
+}
@@ -0,0 +1,58 @@
+package bench;
+
+import ai.AIMove;
+import ai.MinimaxAI;
+import ai.SearchConfig;
+import controller.Game;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tempo de uma busca completa do MinimaxAI a profundidade fixa. Cada medição
+ * usa uma IA nova (tabela de transposição vazia) para não herdar resultados
+ * da chamada anterior. {@code config} compara as podas seletivas padrão com a
+ * busca completa ({@link SearchConfig#FULL_WIDTH}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({ BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME })
+    public String position;
+
+    @Param({ "3", "4" })
+    public int depth;
+
+    @Param({ "default", "full" })
+    public String config;
+
+    private Game game;
+    private MinimaxAI ai;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = BenchPositions.game(position);
+        SearchConfig searchConfig = config.equals("full") ? SearchConfig.FULL_WIDTH : SearchConfig.DEFAULT;
+        ai = new MinimaxAI(depth, "bench", "", 16, 1, searchConfig);
+    }
+
+    @Benchmark
+    public AIMove getBestMove() {
+        return ai.getBestMove(game, game.whiteToMove());
+    }
+}
@@ -0,0 +1,132 @@
+package bench;
+
+import ai.MinimaxAI;
+import ai.SearchLimits;
+import controller.Game;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.board.Position;
+
+/**
+ * Benchmark da busca paralela (Lazy SMP) do MinimaxAI.
+ *
+ * Para 1, 2, 4, 8... threads mede, sobre posições fixas, (a) o tempo até uma
+ * profundidade fixa (speedup em relação a 1 thread) e (b) a profundidade
+ * alcançada e os nós/s com tempo fixo. Cada número de threads é aquecido na
+ * profundidade alvo antes de qualquer medição; depois as medições são feitas
+ * em rodadas que alternam entre os números de threads, e o relatório usa a
+ * mediana das rodadas, para que o aquecimento do JIT não favoreça nenhuma
+ * configuração. Não usa o JMH (mede buscas inteiras); depois de
+ * ./build-bench.sh compilar a pasta out-bench:
+ *
+ * java -cp out-bench:resources bench.SmpBenchmark [maxThreads] [tempoMs] [profundidade] [rodadas]
+ */
+public final class SmpBenchmark {
+
+    // Posições de teste: sequências de lances a partir da posição inicial
+    private static final String[] LINES = {
+            "",
+            "e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7",
+            "d2d4 g8f6 c2c4 e7e6 b1c3 f8b4 e2e3 e8g8 f1d3 d7d5",
+            "e2e4 c7c5 g1f3 d7d6 d2d4 c5d4 f3d4 g8f6 b1c3 a7a6 c1e3 e7e5",
+    };
+
+    private SmpBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : cores;
+        long timeMs = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int rounds = args.length > 3 ? Math.max(1, Integer.parseInt(args[3])) : 3;
+
+        List<Game> positions = new ArrayList<>();
+        for (String line : LINES)
+            positions.add(play(line));
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads <= maxThreads; threads *= 2)
+            threadCounts.add(threads);
+
+        // Aquecimento do JIT: cada configuração faz a busca completa na profundidade alvo
+        for (int threads : threadCounts)
+            timeToDepth(positions, threads, depth);
+
+        // Rodadas intercaladas: [configuração][rodada]
+        int n = threadCounts.size();
+        double[][] times = new double[n][rounds];
+        double[][] depths = new double[n][rounds];
+        double[][] nps = new double[n][rounds];
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < n; i++) {
+                int threads = threadCounts.get(i);
+                times[i][round] = timeToDepth(positions, threads, depth);
+
+                int depthSum = 0;
+                long nodes = 0;
+                long nanos = 0;
+                for (Game g : positions) {
+                    MinimaxAI ai = newAI(threads);
+                    long t0 = System.nanoTime();
+                    ai.getBestMove(g, g.whiteToMove(), SearchLimits.time(timeMs));
+                    nanos += System.nanoTime() - t0;
+                    depthSum += ai.getLastSearchDepth();
+                    nodes += ai.getLastNodeCount();
+                }
+                depths[i][round] = (double) depthSum / positions.size();
+                nps[i][round] = nodes / (nanos / 1e9);
+            }
+        }
+
+        System.out.printf("Posições: %d | profundidade fixa: %d | tempo fixo: %d ms | rodadas: %d | núcleos: %d%n",
+                positions.size(), depth, timeMs, rounds, cores);
+        System.out.printf("%8s %14s %9s %16s %12s%n", "threads", "tempo-prof(ms)", "speedup", "prof. média", "nós/s");
+        double baseTime = median(times[0]);
+        for (int i = 0; i < n; i++) {
+            double time = median(times[i]);
+            System.out.printf("%8d %14.0f %8.2fx %16.2f %12.0f%s%n", threadCounts.get(i), time, baseTime / time,
+                    median(depths[i]), median(nps[i]), threadCounts.get(i) > cores ? "  (mais threads que núcleos)" : "");
+        }
+        System.exit(0);
+    }
+
+    // Tempo total (ms) até a profundidade fixa em todas as posições, com TT nova
+    private static double timeToDepth(List<Game> positions, int threads, int depth) {
+        long totalNanos = 0;
+        for (Game g : positions) {
+            MinimaxAI ai = newAI(threads);
+            long t0 = System.nanoTime();
+            ai.getBestMove(g, g.whiteToMove(), SearchLimits.depth(depth));
+            totalNanos += System.nanoTime() - t0;
+        }
+        return totalNanos / 1e6;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static MinimaxAI newAI(int threads) {
+        return new MinimaxAI(SearchLimits.MAX_DEPTH, "bench", "", 64, threads);
+    }
+
+    // Joga uma sequência de lances em notação de coordenadas (ex.: "e2e4 e7e5")
+    private static Game play(String line) {
+        Game g = new Game();
+        for (String mv : line.trim().split("\\s+")) {
+            if (mv.isEmpty())
+                continue;
+            g.move(parse(mv, 0), parse(mv, 2), null);
+        }
+        return g;
+    }
+
+    private static Position parse(String mv, int i) {
+        return Position.of(8 - (mv.charAt(i + 1) - '0'), mv.charAt(i) - 'a');
+    }
+}
@@ -0,0 +1,39 @@
+#!/bin/bash
+# Compila e roda os benchmarks JMH do motor (pasta bench/).
+# Uso: ./build-bench.sh [argumentos do JMH]   ex.: ./build-bench.sh GameBenchmark -p position=start
+#
+# Os jars do JMH são baixados do Maven Central para lib/jmh na primeira vez;
+# para usar uma cópia local, aponte JMH_LIB para a pasta com os jars.
+
+JMH_VERSION=1.37
+JMH_LIB=${JMH_LIB:-lib/jmh}
+MAVEN=https://repo1.maven.org/maven2
+
+JARS=(
+    "org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar"
+    "org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar"
+    "net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar"
+    "org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar"
+)
+
+mkdir -p "$JMH_LIB"
+for jar in "${JARS[@]}"; do
+    if [ ! -f "$JMH_LIB/$(basename "$jar")" ]; then
+        echo "baixando $(basename "$jar")..."
+        curl -fsSL -o "$JMH_LIB/$(basename "$jar")" "$MAVEN/$jar" || { echo "❌ Falha ao baixar $jar"; exit 1; }
+    fi
+done
+CP=$(ls "$JMH_LIB"/*.jar | tr '\n' ':')
+
+# Compila motor + benchmarks; o processador de anotações do JMH gera os harnesses
+rm -rf out-bench
+mkdir -p out-bench
+echo "compilando benchmarks..."
+find src bench/src -name "*.java" -print0 | xargs -0 javac -d out-bench -cp "$CP" -sourcepath src:bench/src
+
+if [ $? -ne 0 ]; then
+    echo "❌ Erro na compilação!"
+    exit 1
+fi
+
+java -cp "out-bench:resources:$CP" org.openjdk.jmh.Main "$@"
@@ -32,6 +32,14 @@ public class AIFactory {
      * Cria uma instância de IA baseada no nível de dificuldade.
      */
     public static ChessAI createAI(Difficulty difficulty) {
+        return createAI(difficulty, 1);
+    }
+
+    /**
+     * Cria uma instância de IA usando até {@code threads} threads de busca.
+     * Só o nível HARD faz busca paralela (Lazy SMP); os demais ignoram o valor.
+     */
+    public static ChessAI createAI(Difficulty difficulty, int threads) {
         return switch (difficulty) {
             case EASY -> new SimpleAI(
                     "IA Fácil",
@@ -48,9 +56,14 @@ public class AIFactory {
                 );
 
             case HARD -> new MinimaxAI(
-                    4, // profundidade 4 (analisa 4 movimentos à frente)
+                    4, // profundidade 4 + quiescência; as podas seletivas pagam o ply extra
                     "IA Difícil",
-                    "Usa algoritmo Minimax avançado com avaliação posicional");
+                    "Usa algoritmo Minimax avançado com avaliação posicional",
+                    32, // tabela de transposição (MB)
+                    threads,
+                    // lance nulo (R = 2) e LMR; -Dchess.search.* liga/desliga cada poda
+                    SearchConfig.DEFAULT.withSystemProperties()
+                );
         };
     }
 
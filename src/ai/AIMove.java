@@ -1,5 +1,7 @@
 package ai;
 
+import model.board.BitBoard;
+import model.board.PackedMove;
 import model.board.Position;
 
 /**
@@ -22,6 +24,16 @@ public class AIMove {
         this(from, to, null, evaluation);
     }
 
+    /** Converte um lance da busca ({@link PackedMove}) para a API pública. */
+    public static AIMove fromPacked(int move, int evaluation) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        Character promotion = PackedMove.isPromotion(move)
+                ? BitBoard.symbolOf(PackedMove.promotion(move))
+                : null;
+        return new AIMove(Position.of(from), Position.of(to), promotion, evaluation);
+    }
+
     public Position getFrom() {
         return from;
     }
@@ -19,6 +19,16 @@ public interface ChessAI {
      */
     AIMove getBestMove(Game game, boolean isWhite);
 
+    /**
+     * Calcula o melhor movimento respeitando os limites de busca indicados.
+     * Implementações sem busca limitável ignoram os limites.
+     *
+     * @param limits profundidade, tempo e/ou nós máximos da busca
+     */
+    default AIMove getBestMove(Game game, boolean isWhite, SearchLimits limits) {
+        return getBestMove(game, isWhite);
+    }
+
     /**
      * Retorna o nome da implementação da IA.
      */
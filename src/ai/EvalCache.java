@@ -0,0 +1,89 @@
+package ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de avaliações estáticas indexado pela chave Zobrist da posição,
+ * na frente de {@link PositionEvaluator#evaluate}. Tamanho fixo (potência
+ * de dois), substituição sempre pelo mais recente.
+ *
+ * Cada entrada é um único long: 48 bits altos da chave e o score (16 bits
+ * com sinal). As entradas ficam num {@link AtomicLongArray} lido e escrito em
+ * modo opaco: cada acesso ao long é atômico (um long[] comum pode ser
+ * dividido em duas metades de 32 bits), sem custo de barreira, então não há
+ * entrada "rasgada" e a tabela pode ser compartilhada entre threads sem
+ * locks. O índice usa os bits baixos da chave; acima de 2^16 entradas ele
+ * invade os bits verificados, e a verificação efetiva cai para
+ * 64 - log2(entradas) bits (45 bits com os 4 MB da busca), o que ainda torna
+ * colisões aceitas desprezíveis.
+ */
+public final class EvalCache {
+
+    /** Retornado por {@link #probe(long)} quando a posição não está na tabela. */
+    public static final int MISS = Integer.MIN_VALUE;
+
+    private static final int ENTRY_BYTES = 8;
+    private static final long KEY_MASK = 0xFFFFFFFFFFFF0000L;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Cria a tabela com o maior número de entradas (potência de dois) que cabe em {@code sizeMb}. */
+    public EvalCache(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        long entries = Long.highestOneBit(bytes / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 30); // limite do array de longs
+        this.table = new AtomicLongArray((int) entries);
+        this.mask = (int) entries - 1;
+    }
+
+    /** Score guardado para a chave ou {@link #MISS}. */
+    public int probe(long key) {
+        long entry = table.getOpaque((int) key & mask);
+        if (entry != 0 && ((entry ^ key) & KEY_MASK) == 0) {
+            hits.increment();
+            return (short) entry;
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    /** Guarda o score; valores fora de 16 bits não são guardados. */
+    public void store(long key, int score) {
+        if (score < Short.MIN_VALUE || score > Short.MAX_VALUE)
+            return;
+        table.setOpaque((int) key & mask, (key & KEY_MASK) | (score & 0xFFFFL));
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++)
+            table.setOpaque(i, 0L);
+        resetStats();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** Fração de consultas atendidas pela tabela (0 se não houve consulta). */
+    public double hitRate() {
+        long h = hits(), total = h + misses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+}
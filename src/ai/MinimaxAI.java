@@ -3,197 +3,731 @@ package ai;
 import controller.Game;
 import java.util.ArrayList;
 import java.util.List;
-import model.board.Position;
-import model.pieces.Pawn;
-import model.pieces.Piece;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import model.board.BitBoard;
+import model.board.MoveGenerator;
+import model.board.PackedMove;
 
 /**
- * Implementação de IA usando algoritmo Minimax com poda Alfa-Beta.
- * Representa o nível mais difícil de IA.
+ * Implementação de IA usando Minimax na forma negamax com poda Alfa-Beta,
+ * busca de variante principal (PVS) e janelas de aspiração.
+ * Representa o nível mais difícil de IA. As folhas são resolvidas por uma
+ * busca de quiescência (capturas, promoções e evasões de xeque).
+ *
+ * Com mais de uma thread usa Lazy SMP: threads auxiliares fazem a mesma busca
+ * iterativa, cada uma pulando profundidades num ciclo próprio, compartilhando
+ * a tabela de transposição, que é o único canal de comunicação entre elas.
  */
 public class MinimaxAI implements ChessAI {
 
-    private final PositionEvaluator evaluator;
+    // Scores de mate ficam acima de MATE_BOUND e codificam a distância (ply)
+    private static final int MATE_SCORE = 30000;
+    private static final int MATE_BOUND = MATE_SCORE - 1000;
+    private static final int DEFAULT_TT_MB = 16;
+    private static final int PAWN_HASH_MB = 2; // compartilhada pelas threads da busca
+    private static final int EVAL_CACHE_MB = 4; // idem, mantida entre buscas
+    private static final int INFINITY = MATE_SCORE + 1;
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 1;
+    private static final int CHECK_INTERVAL = 1023; // limites verificados a cada 1024 nós
+
+    // Valores por tipo (peão..rei) usados na quiescência e na ordenação
+    private static final int[] PIECE_VALUES = { 100, 320, 330, 500, 900, 0 };
+    // Margem da poda delta: captura que nem com essa folga alcança alfa é ignorada
+    private static final int DELTA_MARGIN = 200;
+    // d4, e4, d5, e5
+    private static final long CENTER = (1L << 27) | (1L << 28) | (1L << 35) | (1L << 36);
+    // Capturas que não perdem material (SEE >= 0) vêm antes dos lances quietos
+    private static final int GOOD_CAPTURE = 1_000_000;
+    // Lances quietos que causaram corte no mesmo ply (killers) vêm logo depois
+    private static final int KILLER_1 = 900_000;
+    private static final int KILLER_2 = 800_000;
+    // Teto da tabela de histórico; ao atingir, todos os valores são reduzidos à metade
+    private static final int HISTORY_MAX = 400_000;
+    // Janela de aspiração inicial (centipawns), dobrada a cada falha; acima do máximo vira janela completa.
+    // Com a mobilidade contada para os dois lados o score varia pouco entre iterações
+    // (mediana ~7, 95% abaixo de ~55); 75 cobre quase todas sem pedir nova busca
+    private static final int ASPIRATION_WINDOW = 75;
+    private static final int ASPIRATION_MAX = 800;
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    // Profundidade mínima para tentar o lance nulo; a partir de NULL_MOVE_DEEP a redução cresce 1
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_DEEP = 7;
+    // Lazy SMP: o auxiliar i alterna blocos de SKIP_SIZE profundidades buscadas e
+    // puladas, deslocados por SKIP_PHASE, para que as threads fiquem em
+    // profundidades diferentes ao mesmo tempo; a partir de 21 threads o ciclo se repete
+    private static final int[] SKIP_SIZE = { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+    private static final int[] SKIP_PHASE = { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+    // Redução LMR por [profundidade][índice do lance], crescendo com o log de ambos
+    private static final int[][] LMR_TABLE = new int[MAX_PLY + 1][64];
+
+    static {
+        for (int d = 1; d <= MAX_PLY; d++)
+            for (int m = 1; m < 64; m++)
+                LMR_TABLE[d][m] = (int) (0.75 + Math.log(d) * Math.log(m) / 2.25);
+    }
+
+    // Threads auxiliares do Lazy SMP, compartilhadas por todas as instâncias: o
+    // pool cresce até o maior número de threads em uso e encerra as ociosas após
+    // 60 s, então criar várias IAs (GUI, benchmark) não acumula threads
+    private static final ExecutorService HELPER_POOL = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "minimax-helper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final TranspositionTable tt;
+    private final PawnHashTable pawnHash;
+    private final EvalCache evalCache;
     private final int maxDepth;
+    private final int threads;
     private final String name;
     private final String description;
+    private final SearchConfig config;
+    // Histórico [thread][lado][origem][destino], mantido (envelhecido) entre buscas
+    private final int[][][][] history;
+
+    // Estado compartilhado da busca em andamento
+    private SearchLimits limits;
+    private long startNanos;
+    private volatile boolean stopped;
+    private final AtomicLong totalNodes = new AtomicLong();
+    private int completedDepth;
 
     // Construtor para diferentes níveis de dificuldade
     public MinimaxAI(int depth, String name, String description) {
-        this.evaluator = new PositionEvaluator();
+        this(depth, name, description, DEFAULT_TT_MB);
+    }
+
+    public MinimaxAI(int depth, String name, String description, int ttSizeMb) {
+        this(depth, name, description, ttSizeMb, 1);
+    }
+
+    /**
+     * @param threads número de threads de busca (1 = busca sequencial)
+     */
+    public MinimaxAI(int depth, String name, String description, int ttSizeMb, int threads) {
+        this(depth, name, description, ttSizeMb, threads, SearchConfig.DEFAULT);
+    }
+
+    /**
+     * @param config podas seletivas (lance nulo, LMR) usadas pela busca
+     */
+    public MinimaxAI(int depth, String name, String description, int ttSizeMb, int threads, SearchConfig config) {
+        this.tt = new TranspositionTable(ttSizeMb);
+        this.pawnHash = new PawnHashTable(PAWN_HASH_MB);
+        this.evalCache = new EvalCache(EVAL_CACHE_MB);
+        this.config = config;
         this.maxDepth = depth;
+        this.threads = Math.max(1, threads);
         this.name = name;
         this.description = description;
+        this.history = new int[this.threads][2][64][64];
     }
 
     @Override
     public AIMove getBestMove(Game game, boolean isWhite) {
+        return getBestMove(game, isWhite, SearchLimits.depth(maxDepth));
+    }
+
+    /**
+     * Aprofundamento iterativo: busca com profundidade 1, 2, ... até o limite,
+     * devolvendo o melhor lance da última iteração completa. A variante
+     * principal de cada iteração é tentada primeiro na seguinte.
+     */
+    @Override
+    public synchronized AIMove getBestMove(Game game, boolean isWhite, SearchLimits limits) {
         if (game.isGameOver())
             return null;
 
-        List<Move> allMoves = generateAllMoves(game, isWhite);
-        if (allMoves.isEmpty())
+        tt.newSearch();
+        ageHistory();
+        this.limits = limits;
+        this.startNanos = System.nanoTime();
+        this.stopped = false;
+        this.totalNodes.set(0);
+
+        // Cada thread tem seu próprio snapshot; a árvore é percorrida com make/unmake
+        SearchWorker main = new SearchWorker(0, game.createSnapshot());
+        if (main.rootCount == 0)
             return null;
 
-        // Ordena movimentos para melhor poda alfa-beta
-        orderMoves(allMoves, game);
+        List<SearchWorker> helpers = new ArrayList<>();
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            SearchWorker helper = new SearchWorker(i, game.createSnapshot());
+            helpers.add(helper);
+            running.add(HELPER_POOL.submit(helper));
+        }
 
-        AIMove bestMove = null;
-        int bestValue = isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
-        int alpha = Integer.MIN_VALUE;
-        int beta = Integer.MAX_VALUE;
+        main.run();
+        stopped = true; // a thread principal decide quando a busca termina
+        for (Future<?> f : running) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha em thread auxiliar da busca", e.getCause());
+            }
+        }
 
-        for (Move move : allMoves) {
-            // Cria snapshot do jogo para simular o movimento
-            Game tempGame = createGameSnapshot(game);
-            tempGame.move(move.from, move.to, move.promotion);
+        // Usa o resultado da iteração completa mais profunda (empate: thread principal)
+        SearchWorker best = main;
+        for (SearchWorker helper : helpers) {
+            if (helper.bestMove != null && helper.completedDepth > best.completedDepth)
+                best = helper;
+        }
+        completedDepth = best.completedDepth;
 
-            int value = minimax(tempGame, maxDepth - 1, !isWhite, alpha, beta);
+        if (best.bestMove == null) {
+            // Nem a profundidade 1 terminou: joga o primeiro lance ordenado
+            return AIMove.fromPacked(main.rootMoves[0], 0);
+        }
+        return best.bestMove;
+    }
 
-            if (isWhite && value > bestValue) {
-                bestValue = value;
-                bestMove = new AIMove(move.from, move.to, move.promotion, value);
-                alpha = Math.max(alpha, value);
-            } else if (!isWhite && value < bestValue) {
-                bestValue = value;
-                bestMove = new AIMove(move.from, move.to, move.promotion, value);
-                beta = Math.min(beta, value);
-            }
+    /** Profundidade da última iteração completa da busca mais recente. */
+    public int getLastSearchDepth() {
+        return completedDepth;
+    }
 
-            // Poda alfa-beta
-            if (beta <= alpha)
-                break;
-        }
+    /** Nós visitados pela busca mais recente (somando todas as threads). */
+    public long getLastNodeCount() {
+        return totalNodes.get();
+    }
 
-        return bestMove;
+    /** Cache de avaliações compartilhado pelas threads (contadores de acerto/falha). */
+    public EvalCache getEvalCache() {
+        return evalCache;
     }
 
-    private int minimax(Game game, int depth, boolean isMaximizing, int alpha, int beta) {
-        if (depth == 0 || game.isGameOver()) {
-            return evaluator.evaluate(game);
+    public SearchConfig getConfig() {
+        return config;
+    }
+
+    /** Número de threads de busca. */
+    public int getThreads() {
+        return threads;
+    }
+
+    // Envelhece o histórico: cortes de buscas anteriores valem metade
+    private void ageHistory() {
+        for (int[][][] perThread : history)
+            for (int[][] perSide : perThread)
+                for (int[] row : perSide)
+                    for (int i = 0; i < row.length; i++)
+                        row[i] >>= 1;
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Estado de busca de uma thread: snapshot do jogo, avaliador, contadores,
+     * pilhas de lances por ply e tabelas de variante principal. Só a tabela
+     * de transposição é comum. Lances são ints ({@link PackedMove}); objetos
+     * só são criados para o resultado ({@link AIMove}).
+     */
+    private final class SearchWorker implements Runnable {
+
+        private final int id;
+        private final Game game;
+        private final PositionEvaluator evaluator = new PositionEvaluator(pawnHash, evalCache);
+
+        // Lances e scores de ordenação por ply, alocados uma vez por busca
+        private final int[][] moveStack = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+        private final int[][] scoreStack = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+        private final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        private final int[] rootScores = new int[MoveGenerator.MAX_MOVES];
+        private final int rootCount;
+
+        private long nodes;
+        private int completedDepth;
+        private AIMove bestMove;
+        private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+        private final int[] pvLength = new int[MAX_PLY + 1];
+        private final int[] previousPv = new int[MAX_PLY + 1];
+        private final int[][] killers = new int[MAX_PLY + 1][2];
+        private final int[] seeGain = new int[StaticExchange.MAX_EXCHANGE];
+        private final int[][][] historyTable;
+        private int previousPvLength;
+        private boolean followPv;
+        private int rootBest;
+
+        SearchWorker(int id, Game game) {
+            this.id = id;
+            this.game = game;
+            this.rootCount = MoveGenerator.generateLegal(game.bitboard(), rootMoves, 0);
+            this.historyTable = history[id];
         }
 
-        List<Move> moves = generateAllMoves(game, isMaximizing);
-        if (moves.isEmpty()) {
-            return evaluator.evaluate(game);
+        @Override
+        public void run() {
+            if (rootCount == 0)
+                return;
+            scoreMoves(rootMoves, rootScores, rootCount, TranspositionTable.move(tt.probe(game.positionKey())), 0);
+            for (int i = 0; i < rootCount; i++)
+                pickNext(rootMoves, rootScores, i, rootCount);
+
+            int score = 0;
+            for (int depth = 1; depth <= limits.getMaxDepth(); depth++) {
+                if (skipsDepth(depth))
+                    continue;
+                int value = aspirationSearch(depth, score);
+                if (stopped)
+                    break; // interrompida: vale a iteração anterior
+
+                score = value;
+                int whiteScore = game.whiteToMove() ? value : -value;
+                bestMove = AIMove.fromPacked(rootBest, whiteScore);
+                completedDepth = depth;
+
+                // Lance da variante principal primeiro na próxima iteração
+                System.arraycopy(pvTable[0], 0, previousPv, 0, pvLength[0]);
+                previousPvLength = pvLength[0];
+                moveToFront(rootMoves, rootCount, previousPvLength > 0 ? previousPv[0] : rootBest);
+
+                if (id != 0)
+                    continue; // auxiliares seguem até a principal mandar parar
+                if (Math.abs(value) > MATE_BOUND)
+                    break; // mate encontrado, aprofundar não muda o lance
+                if (limits.hasTimeLimit() && elapsedMillis() * 2 > limits.getTimeMillis())
+                    break; // a próxima iteração dificilmente terminaria a tempo
+            }
+            totalNodes.addAndGet(nodes & CHECK_INTERVAL);
         }
 
-        orderMoves(moves, game);
+        // A principal busca todas as profundidades; cada auxiliar pula as do seu ciclo
+        private boolean skipsDepth(int depth) {
+            if (id == 0)
+                return false;
+            int i = (id - 1) % SKIP_SIZE.length;
+            return ((depth + SKIP_PHASE[i]) / SKIP_SIZE[i]) % 2 != 0;
+        }
 
-        if (isMaximizing) {
-            int maxEval = Integer.MIN_VALUE;
-            for (Move move : moves) {
-                Game tempGame = createGameSnapshot(game);
-                tempGame.move(move.from, move.to, move.promotion);
+        /**
+         * Janela de aspiração: busca numa janela estreita em torno do score da
+         * iteração anterior e, se o resultado cair fora dela, alarga o lado que
+         * falhou e repete.
+         */
+        private int aspirationSearch(int depth, int previousScore) {
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            int window = ASPIRATION_WINDOW;
+            if (depth >= ASPIRATION_MIN_DEPTH && Math.abs(previousScore) < MATE_BOUND) {
+                alpha = previousScore - window;
+                beta = previousScore + window;
+            }
 
-                int eval = minimax(tempGame, depth - 1, false, alpha, beta);
-                maxEval = Math.max(maxEval, eval);
-                alpha = Math.max(alpha, eval);
+            while (true) {
+                int value = searchRoot(depth, alpha, beta);
+                if (stopped)
+                    return value;
+                if (value <= alpha && alpha > -INFINITY) {
+                    alpha = window > ASPIRATION_MAX ? -INFINITY : Math.max(-INFINITY, alpha - window);
+                } else if (value >= beta && beta < INFINITY) {
+                    beta = window > ASPIRATION_MAX ? INFINITY : Math.min(INFINITY, beta + window);
+                } else {
+                    return value;
+                }
+                window *= 2;
+            }
+        }
 
-                if (beta <= alpha)
-                    break; // Poda alfa-beta
+        // Busca na raiz (PVS); o melhor lance fica em rootBest
+        private int searchRoot(int depth, int alpha, int beta) {
+            followPv = true;
+            pvLength[0] = 0;
+            int alphaOrig = alpha;
+            int best = -INFINITY;
+            int bestRootMove = PackedMove.NONE;
+
+            for (int i = 0; i < rootCount; i++) {
+                int move = rootMoves[i];
+                long undo = game.makeMove(move);
+                int score = pvs(depth, 1, alpha, beta, i == 0, 0);
+                game.unmakeMove(undo);
+                if (stopped)
+                    return 0;
+
+                if (score > best) {
+                    best = score;
+                    bestRootMove = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        updatePv(0, move);
+                        if (alpha >= beta)
+                            break;
+                    }
+                }
             }
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (Move move : moves) {
-                Game tempGame = createGameSnapshot(game);
-                tempGame.move(move.from, move.to, move.promotion);
 
-                int eval = minimax(tempGame, depth - 1, true, alpha, beta);
-                minEval = Math.min(minEval, eval);
-                beta = Math.min(beta, eval);
+            rootBest = bestRootMove;
+            tt.store(game.positionKey(), PackedMove.compact(bestRootMove), toTT(best, 0), depth,
+                    boundOf(best, alphaOrig, beta));
+            return best;
+        }
 
-                if (beta <= alpha)
-                    break; // Poda alfa-beta
+        /**
+         * Busca de um filho pelo esquema PVS: o primeiro lance recebe a janela
+         * completa; os demais, uma janela nula que só prova que não são
+         * melhores, com nova busca completa quando a prova falha. Com
+         * {@code reduction > 0} a prova é tentada antes com profundidade
+         * reduzida (LMR) e repetida na profundidade normal se falhar.
+         */
+        private int pvs(int depth, int ply, int alpha, int beta, boolean first, int reduction) {
+            if (first)
+                return -negamax(depth - 1, ply, -beta, -alpha, true);
+            if (reduction > 0) {
+                int score = -negamax(depth - 1 - reduction, ply, -alpha - 1, -alpha, true);
+                if (score <= alpha)
+                    return score;
             }
-            return minEval;
+            int score = -negamax(depth - 1, ply, -alpha - 1, -alpha, true);
+            if (score > alpha && score < beta)
+                score = -negamax(depth - 1, ply, -beta, -alpha, true);
+            return score;
         }
-    }
 
-    private List<Move> generateAllMoves(Game game, boolean isWhite) {
-        List<Move> moves = new ArrayList<>();
+        // Negamax: scores sempre do ponto de vista do lado a jogar
+        private int negamax(int depth, int ply, int alpha, int beta, boolean allowNull) {
+            pvLength[ply] = ply;
+            if ((++nodes & CHECK_INTERVAL) == 0)
+                checkLimits();
+            if (stopped)
+                return 0;
+
+            if (ply >= MAX_PLY - 1)
+                return evaluate();
+            if (depth == 0)
+                return quiesce(ply, alpha, beta);
+
+            // Consulta a tabela de transposição (scores do ponto de vista do lado a jogar)
+            boolean pvNode = beta - alpha > 1;
+            long key = game.positionKey();
+            long entry = tt.probe(key);
+            int ttMove = 0;
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTT(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.BOUND_EXACT
+                            || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                            || (bound == TranspositionTable.BOUND_UPPER && score <= alpha))
+                        return score;
+                }
+            }
 
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Position from = new Position(row, col);
-                Piece piece = game.board().get(from);
+            boolean white = game.whiteToMove();
+            boolean inCheck = game.inCheck(white);
+
+            // Lance nulo: se mesmo passando a vez a busca reduzida ainda passa de beta,
+            // o nó é podado. Não vale em xeque nem só com peões (zugzwang é comum)
+            if (allowNull && config.isNullMove() && !pvNode && !inCheck && depth >= NULL_MOVE_MIN_DEPTH
+                    && Math.abs(beta) < MATE_BOUND && hasPieces(white)) {
+                int r = config.getNullMoveReduction() + (depth >= NULL_MOVE_DEEP ? 1 : 0);
+                int undo = game.makeNullMove();
+                int score = -negamax(Math.max(0, depth - 1 - r), ply + 1, -beta, -beta + 1, false);
+                game.unmakeNullMove(undo);
+                if (stopped)
+                    return 0;
+                if (score >= beta)
+                    return score >= MATE_BOUND ? beta : score; // mate após lance nulo não é confiável
+            }
 
-                if (piece != null && piece.isWhite() == isWhite) {
-                    List<Position> legalMoves = game.legalMovesFrom(from);
+            int[] moves = moveStack[ply];
+            int[] scores = scoreStack[ply];
+            int count = MoveGenerator.generateLegal(game.bitboard(), moves, 0);
+            if (count == 0) {
+                // Mate (mais rápido vale mais) ou afogamento
+                return inCheck ? -(MATE_SCORE - ply) : 0;
+            }
+            scoreMoves(moves, scores, count, ttMove, ply);
+
+            int alphaOrig = alpha;
+            int best = -INFINITY;
+            int bestMove = PackedMove.NONE;
+
+            for (int i = 0; i < count; i++) {
+                int move = pickNext(moves, scores, i, count);
+                boolean quiet = isQuiet(move);
+                long undo = game.makeMove(move);
+
+                // LMR: lances quietos tardios (fora killers), sem xeque, buscados mais raso
+                int reduction = 0;
+                if (config.isLateMoveReductions() && quiet && !inCheck && i >= config.getLmrMinMoves()
+                        && depth >= config.getLmrMinDepth() && scores[i] < KILLER_2 && !game.inCheck(!white)) {
+                    reduction = LMR_TABLE[Math.min(depth, MAX_PLY)][Math.min(i, 63)] - (pvNode ? 1 : 0);
+                    reduction = Math.max(0, Math.min(reduction, depth - 2));
+                }
 
-                    for (Position to : legalMoves) {
-                        if (piece instanceof Pawn && game.isPromotion(from, to)) {
-                            // Adiciona todas as promoções possíveis
-                            moves.add(new Move(from, to, 'Q'));
-                            moves.add(new Move(from, to, 'R'));
-                            moves.add(new Move(from, to, 'B'));
-                            moves.add(new Move(from, to, 'N'));
-                        } else {
-                            moves.add(new Move(from, to, null));
+                int score = pvs(depth, ply + 1, alpha, beta, i == 0, reduction);
+                game.unmakeMove(undo);
+
+                if (stopped)
+                    return 0;
+
+                if (score > best) {
+                    best = score;
+                    bestMove = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        updatePv(ply, move);
+                        if (alpha >= beta) {
+                            if (quiet)
+                                recordCutoff(move, ply, depth, white);
+                            break; // Poda alfa-beta
                         }
                     }
                 }
             }
+
+            tt.store(key, PackedMove.compact(bestMove), toTT(best, ply), depth, boundOf(best, alphaOrig, beta));
+            return best;
+        }
+
+        /**
+         * Busca de quiescência: nas folhas continua apenas com capturas e
+         * promoções (ou todas as evasões, se em xeque) até a posição ficar
+         * quieta, evitando avaliar no meio de uma troca.
+         */
+        private int quiesce(int ply, int alpha, int beta) {
+            pvLength[ply] = ply;
+            if ((++nodes & CHECK_INTERVAL) == 0)
+                checkLimits();
+            if (stopped)
+                return 0;
+            if (ply >= MAX_PLY - 1)
+                return evaluate();
+
+            boolean white = game.whiteToMove();
+            boolean inCheck = game.inCheck(white);
+            int[] moves = moveStack[ply];
+            int[] scores = scoreStack[ply];
+            int best;
+            int standPat = 0;
+            int count;
+            if (inCheck) {
+                // Em xeque não há "ficar parado": todas as evasões são buscadas
+                count = MoveGenerator.generateLegal(game.bitboard(), moves, 0);
+                if (count == 0)
+                    return -(MATE_SCORE - ply);
+                best = -INFINITY;
+            } else {
+                // Stand-pat: o lado a jogar pode recusar todas as capturas
+                standPat = evaluate();
+                if (standPat >= beta)
+                    return standPat;
+                alpha = Math.max(alpha, standPat);
+                best = standPat;
+                count = MoveGenerator.generateTactical(game.bitboard(), moves, 0);
+            }
+            scoreMoves(moves, scores, count, 0, ply);
+
+            for (int i = 0; i < count; i++) {
+                int move = pickNext(moves, scores, i, count);
+                if (!inCheck) {
+                    // Capturas que perdem material na troca (SEE < 0) não são buscadas
+                    if (!PackedMove.isPromotion(move) && scores[i] < 0)
+                        continue;
+                    // Poda delta: nem o material ganho mais a margem alcança alfa
+                    if (standPat + captureGain(move) + DELTA_MARGIN <= alpha)
+                        continue;
+                }
+
+                long undo = game.makeMove(move);
+                int score = -quiesce(ply + 1, -beta, -alpha);
+                game.unmakeMove(undo);
+                if (stopped)
+                    return 0;
+
+                if (score > best) {
+                    best = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        updatePv(ply, move);
+                        if (alpha >= beta)
+                            break;
+                    }
+                }
+            }
+            return best;
         }
 
-        return moves;
-    }
+        // Avaliação estática do ponto de vista do lado a jogar
+        private int evaluate() {
+            int score = evaluator.evaluate(game);
+            return game.whiteToMove() ? score : -score;
+        }
 
-    private void orderMoves(List<Move> moves, Game game) {
-        // Ordena movimentos priorizando capturas e movimentos para o centro
-        moves.sort((m1, m2) -> {
-            int score1 = getMoveOrderingScore(m1, game);
-            int score2 = getMoveOrderingScore(m2, game);
-            return Integer.compare(score2, score1); // Ordem decrescente
-        });
-    }
+        // Lance quieto que causou corte: vira killer do ply e ganha pontos no histórico
+        private void recordCutoff(int move, int ply, int depth, boolean white) {
+            if (killers[ply][0] != move) {
+                killers[ply][1] = killers[ply][0];
+                killers[ply][0] = move;
+            }
 
-    private int getMoveOrderingScore(Move move, Game game) {
-        int score = 0;
+            int[][] table = historyTable[white ? 0 : 1];
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            table[from][to] += depth * depth;
+            if (table[from][to] > HISTORY_MAX) {
+                for (int[] row : table)
+                    for (int i = 0; i < row.length; i++)
+                        row[i] >>= 1;
+            }
+        }
 
-        Piece target = game.board().get(move.to);
-        if (target != null) {
-            // Capturas têm prioridade
-            score += switch (target.getSymbol()) {
-                case "Q" -> 900;
-                case "R" -> 500;
-                case "B", "N" -> 300;
-                case "P" -> 100;
-                default -> 0;
-            };
+        // Zugzwang: só arrisca o lance nulo se o lado tiver alguma peça além de peões e rei
+        private boolean hasPieces(boolean white) {
+            BitBoard bits = game.bitboard();
+            return (bits.occupancy(white) & ~bits.pieces(BitBoard.PAWN, white) & ~bits.pieces(BitBoard.KING, white)) != 0;
         }
 
-        // Bônus para movimentos centrais
-        int row = move.to.getRow();
-        int col = move.to.getColumn();
-        if ((row >= 3 && row <= 4) && (col >= 3 && col <= 4)) {
-            score += 10;
+        /**
+         * Calcula a prioridade de cada lance. Enquanto seguimos a variante
+         * principal anterior, o lance dela vem primeiro; depois o da tabela.
+         */
+        private void scoreMoves(int[] moves, int[] scores, int count, int ttMove, int ply) {
+            int pvMove = PackedMove.NONE;
+            if (followPv) {
+                if (ply < previousPvLength)
+                    pvMove = previousPv[ply];
+                else
+                    followPv = false;
+            }
+
+            boolean pvFound = false;
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                if (move == pvMove) {
+                    scores[i] = Integer.MAX_VALUE;
+                    pvFound = true;
+                } else if (ttMove != 0 && PackedMove.compact(move) == ttMove) {
+                    scores[i] = Integer.MAX_VALUE - 1;
+                } else {
+                    scores[i] = getMoveOrderingScore(move, ply);
+                }
+            }
+            if (pvMove != PackedMove.NONE && !pvFound)
+                followPv = false;
         }
 
-        return score;
-    }
+        private int getMoveOrderingScore(int move, int ply) {
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            if (PackedMove.isCapture(move)) {
+                // Capturas pelo saldo da troca: as que perdem material ficam depois dos lances quietos
+                int see = StaticExchange.see(game.bitboard(), from, to, seeGain);
+                if (see < 0)
+                    return see;
+                return GOOD_CAPTURE + see + PIECE_VALUES[BitBoard.typeOf(PackedMove.captured(move))];
+            }
+            if (PackedMove.isPromotion(move)) {
+                // Promoção a dama junto das capturas boas; subpromoções por último entre os quietos
+                return PackedMove.promotion(move) == BitBoard.QUEEN ? GOOD_CAPTURE + PIECE_VALUES[BitBoard.QUEEN] : -1;
+            }
 
-    private Game createGameSnapshot(Game original) {
-        // Cria novo jogo e copia o estado
-        Game snapshot = new Game();
+            // Lances quietos: killers do ply, depois o histórico de cortes
+            if (move == killers[ply][0])
+                return KILLER_1;
+            if (move == killers[ply][1])
+                return KILLER_2;
+            int score = historyTable[BitBoard.isWhite(PackedMove.piece(move)) ? 0 : 1][from][to];
+
+            // Bônus para movimentos centrais (desempate)
+            if ((CENTER & (1L << to)) != 0)
+                score += 10;
+            return score;
+        }
 
-        // Limpa o tabuleiro do snapshot
-        snapshot.board().clear();
+        // Soma os nós ao total compartilhado e verifica tempo/nós
+        private void checkLimits() {
+            long total = totalNodes.addAndGet(CHECK_INTERVAL + 1);
+            if (limits.hasNodeLimit() && total >= limits.getMaxNodes())
+                stopped = true;
+            else if (limits.hasTimeLimit() && elapsedMillis() >= limits.getTimeMillis())
+                stopped = true;
+        }
 
-        // Copia todas as peças
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Position pos = new Position(row, col);
-                Piece piece = original.board().get(pos);
-                if (piece != null) {
-                    Piece copy = piece.copyFor(snapshot.board());
-                    snapshot.board().set(pos, copy);
-                }
+        // Tabela triangular: pvTable[ply] = lance do ply seguido da PV do filho
+        private void updatePv(int ply, int move) {
+            pvTable[ply][ply] = move;
+            int childLength = pvLength[ply + 1];
+            for (int i = ply + 1; i < childLength; i++)
+                pvTable[ply][i] = pvTable[ply + 1][i];
+            pvLength[ply] = Math.max(childLength, ply + 1);
+        }
+    }
+
+    // Seleção incremental: traz o lance de maior score de [i, count) para a posição i
+    private static int pickNext(int[] moves, int[] scores, int i, int count) {
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best])
+                best = j;
+        }
+        if (best != i) {
+            int m = moves[i];
+            moves[i] = moves[best];
+            moves[best] = m;
+            int sc = scores[i];
+            scores[i] = scores[best];
+            scores[best] = sc;
+        }
+        return moves[i];
+    }
+
+    // Move o lance indicado para o início, preservando a ordem dos demais
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
             }
         }
+    }
 
-        return snapshot;
+    private static boolean isQuiet(int move) {
+        return !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+    }
+
+    // Material ganho por uma captura/promoção (sem considerar a recaptura)
+    private static int captureGain(int move) {
+        int gain = PackedMove.isCapture(move) ? PIECE_VALUES[BitBoard.typeOf(PackedMove.captured(move))] : 0;
+        if (PackedMove.isPromotion(move))
+            gain += PIECE_VALUES[PackedMove.promotion(move)] - PIECE_VALUES[BitBoard.PAWN];
+        return gain;
+    }
+
+    private static int boundOf(int score, int alphaOrig, int beta) {
+        return score <= alphaOrig ? TranspositionTable.BOUND_UPPER
+                : score >= beta ? TranspositionTable.BOUND_LOWER
+                : TranspositionTable.BOUND_EXACT;
+    }
+
+    // Scores de mate são guardados relativos ao nó (distância a partir dele)
+    private static int toTT(int score, int ply) {
+        if (score > MATE_BOUND)
+            return score + ply;
+        if (score < -MATE_BOUND)
+            return score - ply;
+        return score;
+    }
+
+    private static int fromTT(int score, int ply) {
+        if (score > MATE_BOUND)
+            return score - ply;
+        if (score < -MATE_BOUND)
+            return score + ply;
+        return score;
     }
 
     @Override
@@ -205,17 +739,4 @@ public class MinimaxAI implements ChessAI {
     public String getDifficultyDescription() {
         return description;
     }
-
-    // Classe auxiliar para representar movimentos
-    private static class Move {
-        final Position from;
-        final Position to;
-        final Character promotion;
-
-        Move(Position from, Position to, Character promotion) {
-            this.from = from;
-            this.to = to;
-            this.promotion = promotion;
-        }
-    }
 }
@@ -0,0 +1,75 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Cache da estrutura de peões, indexado pela chave Zobrist só dos peões
+ * ({@link model.board.BitBoard#pawnKey()}). Como a estrutura muda pouco de
+ * um nó para outro, quase toda avaliação encontra a entrada pronta.
+ *
+ * Cada entrada ocupa quatro longs: {@code chave ^ score ^ passadosBrancos ^
+ * passadosPretos} seguido dos três dados. Assim como na
+ * {@link TranspositionTable}, uma escrita concorrente "rasgada" não confere
+ * com a chave e é tratada como ausência, então a tabela pode ser
+ * compartilhada entre threads sem locks.
+ */
+public final class PawnHashTable {
+
+    private static final int ENTRY_BYTES = 32;
+
+    private final long[] table;
+    private final int mask;
+
+    /** Conteúdo de uma entrada, preenchido por {@link #probe(long, Entry)}. */
+    public static final class Entry {
+        int middlegame;
+        int endgame;
+        long whitePassed;
+        long blackPassed;
+    }
+
+    /** Cria a tabela com o maior número de entradas (potência de dois) que cabe em {@code sizeMb}. */
+    public PawnHashTable(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        long entries = Long.highestOneBit(bytes / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 26); // limite do array de longs
+        this.table = new long[(int) entries * 4];
+        this.mask = (int) entries - 1;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Copia a entrada da chave para {@code out}; false se não houver. */
+    public boolean probe(long key, Entry out) {
+        int i = index(key);
+        long score = table[i + 1];
+        long white = table[i + 2];
+        long black = table[i + 3];
+        if ((table[i] ^ score ^ white ^ black) != key)
+            return false;
+        out.middlegame = (int) score;
+        out.endgame = (int) (score >> 32);
+        out.whitePassed = white;
+        out.blackPassed = black;
+        return true;
+    }
+
+    public void store(long key, Entry entry) {
+        int i = index(key);
+        long score = (entry.middlegame & 0xFFFFFFFFL) | ((long) entry.endgame << 32);
+        table[i] = key ^ score ^ entry.whitePassed ^ entry.blackPassed;
+        table[i + 1] = score;
+        table[i + 2] = entry.whitePassed;
+        table[i + 3] = entry.blackPassed;
+    }
+
+    private int index(long key) {
+        return ((int) key & mask) << 2;
+    }
+}
@@ -2,8 +2,9 @@ package ai;
 
 import controller.Game;
 import java.util.Random;
-import model.board.Position;
-import model.pieces.*;
+import model.board.Attacks;
+import model.board.BitBoard;
+import model.board.PieceSquare;
 
 /**
  * Avaliador de posições de xadrez usando princípios estratégicos clássicos.
@@ -12,158 +13,263 @@ import model.pieces.*;
  */
 public class PositionEvaluator {
 
-    // Valores das peças (centipawns)
-    private static final int PAWN_VALUE = 100;
-    private static final int KNIGHT_VALUE = 320;
-    private static final int BISHOP_VALUE = 330;
-    private static final int ROOK_VALUE = 500;
-    private static final int QUEEN_VALUE = 900;
-    private static final int KING_VALUE = 20000;
-
-    // Tabelas de posição para cada tipo de peça (endgame simplificado)
-    private static final int[][] PAWN_TABLE = {
-            { 0, 0, 0, 0, 0, 0, 0, 0 },
-            { 50, 50, 50, 50, 50, 50, 50, 50 },
-            { 10, 10, 20, 30, 30, 20, 10, 10 },
-            { 5, 5, 10, 25, 25, 10, 5, 5 },
-            { 0, 0, 0, 20, 20, 0, 0, 0 },
-            { 5, -5, -10, 0, 0, -10, -5, 5 },
-            { 5, 10, 10, -20, -20, 10, 10, 5 },
-            { 0, 0, 0, 0, 0, 0, 0, 0 }
-    };
-
-    private static final int[][] KNIGHT_TABLE = {
-            { -50, -40, -30, -30, -30, -30, -40, -50 },
-            { -40, -20, 0, 0, 0, 0, -20, -40 },
-            { -30, 0, 10, 15, 15, 10, 0, -30 },
-            { -30, 5, 15, 20, 20, 15, 5, -30 },
-            { -30, 0, 15, 20, 20, 15, 0, -30 },
-            { -30, 5, 10, 15, 15, 10, 5, -30 },
-            { -40, -20, 0, 5, 5, 0, -20, -40 },
-            { -50, -40, -30, -30, -30, -30, -40, -50 }
-    };
-
-    private static final int[][] BISHOP_TABLE = {
-            { -20, -10, -10, -10, -10, -10, -10, -20 },
-            { -10, 0, 0, 0, 0, 0, 0, -10 },
-            { -10, 0, 5, 10, 10, 5, 0, -10 },
-            { -10, 5, 5, 10, 10, 5, 5, -10 },
-            { -10, 0, 10, 10, 10, 10, 0, -10 },
-            { -10, 10, 10, 10, 10, 10, 10, -10 },
-            { -10, 5, 0, 0, 0, 0, 5, -10 },
-            { -20, -10, -10, -10, -10, -10, -10, -20 }
-    };
-
-    private static final int[][] ROOK_TABLE = {
-            { 0, 0, 0, 0, 0, 0, 0, 0 },
-            { 5, 10, 10, 10, 10, 10, 10, 5 },
-            { -5, 0, 0, 0, 0, 0, 0, -5 },
-            { -5, 0, 0, 0, 0, 0, 0, -5 },
-            { -5, 0, 0, 0, 0, 0, 0, -5 },
-            { -5, 0, 0, 0, 0, 0, 0, -5 },
-            { -5, 0, 0, 0, 0, 0, 0, -5 },
-            { 0, 0, 0, 5, 5, 0, 0, 0 }
-    };
-
-    private static final int[][] QUEEN_TABLE = {
-            { -20, -10, -10, -5, -5, -10, -10, -20 },
-            { -10, 0, 0, 0, 0, 0, 0, -10 },
-            { -10, 0, 5, 5, 5, 5, 0, -10 },
-            { -5, 0, 5, 5, 5, 5, 0, -5 },
-            { 0, 0, 5, 5, 5, 5, 0, -5 },
-            { -10, 5, 5, 5, 5, 5, 0, -10 },
-            { -10, 0, 5, 0, 0, 0, 0, -10 },
-            { -20, -10, -10, -5, -5, -10, -10, -20 }
-    };
-
-    private static final int[][] KING_MIDDLE_GAME = {
-            { -30, -40, -40, -50, -50, -40, -40, -30 },
-            { -30, -40, -40, -50, -50, -40, -40, -30 },
-            { -30, -40, -40, -50, -50, -40, -40, -30 },
-            { -30, -40, -40, -50, -50, -40, -40, -30 },
-            { -20, -30, -30, -40, -40, -30, -30, -20 },
-            { -10, -20, -20, -20, -20, -20, -20, -10 },
-            { 20, 20, 0, 0, 0, 0, 20, 20 },
-            { 20, 30, 10, 0, 0, 10, 30, 20 }
-    };
-
-    private final Random random = new Random();
+    // Peso por casa de mobilidade (índice = tipo de peça); dama pesa menos
+    // porque alcança muitas casas sem que isso signifique atividade real
+    private static final int[] MOBILITY_WEIGHT = { 0, 4, 3, 2, 1, 0 };
+
+    // Estrutura de peões (meio-jogo, final); passado por fileira relativa (0 = inicial)
+    private static final int DOUBLED_MG = -10, DOUBLED_EG = -20;
+    private static final int ISOLATED_MG = -10, ISOLATED_EG = -15;
+    private static final int BACKWARD_MG = -8, BACKWARD_EG = -10;
+    private static final int[] PASSED_MG = { 0, 5, 10, 15, 25, 40, 60, 0 };
+    private static final int[] PASSED_EG = { 0, 10, 15, 25, 40, 70, 110, 0 };
+    // Bônus extra (só final) para passado com caminho livre até a promoção
+    private static final int[] FREE_PASSER_EG = { 0, 0, 5, 10, 20, 35, 60, 0 };
+
+    private static final int DEFAULT_PAWN_HASH_MB = 1;
+
+    // Máscaras por cor (0 = brancas) e casa: casas à frente na mesma coluna,
+    // à frente na mesma coluna e nas vizinhas (passado) e nas colunas
+    // vizinhas no mesmo nível ou atrás (peões que podem apoiar)
+    private static final long[][] FRONT_SPAN = new long[2][64];
+    private static final long[][] PASSED_SPAN = new long[2][64];
+    private static final long[][] SUPPORT_SPAN = new long[2][64];
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+
+    static {
+        for (int c = 0; c < 8; c++)
+            FILES[c] = 0x0101010101010101L << c;
+        for (int c = 0; c < 8; c++)
+            ADJACENT_FILES[c] = (c > 0 ? FILES[c - 1] : 0L) | (c < 7 ? FILES[c + 1] : 0L);
+        for (int sq = 0; sq < 64; sq++) {
+            int r = sq >>> 3, c = sq & 7;
+            for (int row = 0; row < 8; row++) {
+                long rank = 0xFFL << (row * 8);
+                int side = row < r ? 0 : row > r ? 1 : -1; // quem tem esta fileira à frente
+                if (side >= 0) {
+                    FRONT_SPAN[side][sq] |= rank & FILES[c];
+                    PASSED_SPAN[side][sq] |= rank & (FILES[c] | ADJACENT_FILES[c]);
+                }
+                if (row >= r)
+                    SUPPORT_SPAN[0][sq] |= rank & ADJACENT_FILES[c];
+                if (row <= r)
+                    SUPPORT_SPAN[1][sq] |= rank & ADJACENT_FILES[c];
+            }
+        }
+    }
+
+    // Valor do rei, usado como nota de mate
+    private static final int KING_VALUE = PieceSquare.value(BitBoard.KING);
+
+    /**
+     * Modo de depuração ({@code -Dchess.eval.verify=true}): confere o material
+     * e posição incrementais do {@link BitBoard} com o recálculo completo.
+     */
+    private static final boolean VERIFY_INCREMENTAL = Boolean.getBoolean("chess.eval.verify");
+
+    // Semente da randomização: muda a cada avaliador, mas é fixa durante uma busca
+    private final long salt = new Random().nextLong();
+
+    private final PawnHashTable pawnHash;
+    private final PawnHashTable.Entry pawnEntry = new PawnHashTable.Entry();
+    private final EvalCache evalCache;
+
+    /**
+     * Avaliador sem cache de avaliações, para quem avalia cada posição uma vez
+     * só (SimpleAI); as buscas passam um {@link EvalCache} compartilhado.
+     */
+    public PositionEvaluator() {
+        this(new PawnHashTable(DEFAULT_PAWN_HASH_MB), null);
+    }
+
+    /**
+     * @param pawnHash  cache de estrutura de peões
+     * @param evalCache cache de avaliações por posição, ou null para sempre recalcular
+     *                  (ambos podem ser compartilhados por avaliadores de threads diferentes)
+     */
+    public PositionEvaluator(PawnHashTable pawnHash, EvalCache evalCache) {
+        this.pawnHash = pawnHash;
+        this.evalCache = evalCache;
+    }
+
+    /** Cache de avaliações usado por este avaliador (contadores de acerto/falha); pode ser null. */
+    public EvalCache getEvalCache() {
+        return evalCache;
+    }
+
+    // Mistura de bits (finalizador do SplitMix64)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 
     /**
      * Avalia a posição atual do jogo do ponto de vista das brancas.
      * Valores positivos favorecem as brancas, negativos favorecem as pretas.
      */
     public int evaluate(Game game) {
-        if (game.isGameOver()) {
-            if (game.isCheckmate(true))
-                return -KING_VALUE; // Brancas perderam
-            if (game.isCheckmate(false))
-                return KING_VALUE; // Pretas perderam
-            return 0; // Empate
+        long key = game.positionKey();
+        int evaluation = evalCache != null ? evalCache.probe(key) : EvalCache.MISS;
+        if (evaluation == EvalCache.MISS) {
+            evaluation = evaluateUncached(game);
+            if (evalCache != null)
+                evalCache.store(key, evaluation);
         }
+        if (Math.abs(evaluation) == KING_VALUE)
+            return evaluation; // mate
+        if (game.isGameOver())
+            return 0; // Empate (jogo encerrado sem mate)
+
+        // Pequena randomização para evitar jogos repetitivos; depende só da posição,
+        // para que a mesma posição tenha o mesmo valor em todas as buscas (PVS, TT).
+        // Fica fora do cache, que pode ser compartilhado por avaliadores com outra semente.
+        return evaluation + (int) Long.remainderUnsigned(mix(key ^ salt), 10) - 5;
+    }
+
+    private int evaluateUncached(Game game) {
+        // Mate do lado a jogar (também em posições de busca, onde isGameOver() é falso)
+        boolean sideToMove = game.whiteToMove();
+        if (game.isCheckmate(sideToMove))
+            return sideToMove ? -KING_VALUE : KING_VALUE;
 
         int evaluation = 0;
+        BitBoard bits = game.bitboard();
+        int phase = PieceSquare.phase(bits);
 
         // Avaliação de material e posição
-        evaluation += evaluateMaterialAndPosition(game);
+        evaluation += evaluateMaterialAndPosition(bits, phase);
 
-        // Bônus por mobilidade (número de movimentos legais)
+        // Estrutura de peões (via cache)
+        evaluation += evaluatePawns(bits, phase);
+
+        // Bônus por mobilidade (casas seguras atacadas)
         evaluation += evaluateMobility(game);
 
         // Avaliação da segurança do rei
         evaluation += evaluateKingSafety(game);
 
-        // Pequena randomização para evitar jogos repetitivos
-        evaluation += random.nextInt(10) - 5;
-
         return evaluation;
     }
 
-    private int evaluateMaterialAndPosition(Game game) {
-        int evaluation = 0;
+    // Material e tabelas de posição: somados incrementalmente pelo BitBoard
+    // (meio-jogo e final) e interpolados pela fase
+    private int evaluateMaterialAndPosition(BitBoard bits, int phase) {
+        int middlegame = bits.psqMiddlegame();
+        int endgame = bits.psqEndgame();
+        if (VERIFY_INCREMENTAL) {
+            int fullMg = PieceSquare.computeMiddlegame(bits);
+            int fullEg = PieceSquare.computeEndgame(bits);
+            if (fullMg != middlegame || fullEg != endgame)
+                throw new IllegalStateException("Material/posição incremental " + middlegame + "/" + endgame
+                        + " != " + fullMg + "/" + fullEg + " em " + bits.toFen());
+        }
+        return PieceSquare.taper(middlegame, endgame, phase);
+    }
 
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Position pos = new Position(row, col);
-                Piece piece = game.board().get(pos);
+    /**
+     * Peões dobrados, isolados, atrasados e passados. A parte que só depende
+     * dos peões vem da {@link PawnHashTable}; o bônus de caminho livre dos
+     * passados depende das demais peças e é calculado sobre as máscaras
+     * guardadas na entrada.
+     */
+    private int evaluatePawns(BitBoard bits, int phase) {
+        PawnHashTable.Entry e = pawnEntry;
+        long key = bits.pawnKey();
+        if (!pawnHash.probe(key, e)) {
+            computePawnStructure(bits, e);
+            pawnHash.store(key, e);
+        }
+
+        int endgame = e.endgame;
+        long occupied = bits.occupied();
+        for (long p = e.whitePassed; p != 0; p &= p - 1) {
+            int sq = Long.numberOfTrailingZeros(p);
+            if ((FRONT_SPAN[0][sq] & occupied) == 0)
+                endgame += FREE_PASSER_EG[7 - (sq >>> 3)];
+        }
+        for (long p = e.blackPassed; p != 0; p &= p - 1) {
+            int sq = Long.numberOfTrailingZeros(p);
+            if ((FRONT_SPAN[1][sq] & occupied) == 0)
+                endgame -= FREE_PASSER_EG[sq >>> 3];
+        }
+        return PieceSquare.taper(e.middlegame, endgame, phase);
+    }
 
-                if (piece != null) {
-                    int pieceValue = getPieceValue(piece);
-                    int positionValue = getPositionValue(piece, row, col);
+    private static void computePawnStructure(BitBoard bits, PawnHashTable.Entry e) {
+        long white = bits.pieces(BitBoard.PAWN, true);
+        long black = bits.pieces(BitBoard.PAWN, false);
+        e.middlegame = 0;
+        e.endgame = 0;
+        e.whitePassed = pawnTerms(white, black, true, e, 1);
+        e.blackPassed = pawnTerms(black, white, false, e, -1);
+    }
 
-                    if (piece.isWhite()) {
-                        evaluation += pieceValue + positionValue;
-                    } else {
-                        evaluation -= pieceValue + positionValue;
-                    }
-                }
+    // Soma os termos de um lado (com o sinal dado) e devolve os peões passados
+    private static long pawnTerms(long own, long enemy, boolean white, PawnHashTable.Entry e, int sign) {
+        int side = white ? 0 : 1;
+        long enemyAttacks = Attacks.pawns(enemy, !white);
+        long passed = 0L;
+        int mg = 0, eg = 0;
+
+        for (long p = own; p != 0; p &= p - 1) {
+            int sq = Long.numberOfTrailingZeros(p);
+            int c = sq & 7;
+            int relativeRank = white ? 7 - (sq >>> 3) : sq >>> 3;
+
+            if ((FRONT_SPAN[side][sq] & own) != 0) {
+                // Dobrado: conta o peão de trás
+                mg += DOUBLED_MG;
+                eg += DOUBLED_EG;
+            }
+            if ((PASSED_SPAN[side][sq] & enemy) == 0 && (FRONT_SPAN[side][sq] & own) == 0) {
+                passed |= 1L << sq;
+                mg += PASSED_MG[relativeRank];
+                eg += PASSED_EG[relativeRank];
+            }
+            if ((ADJACENT_FILES[c] & own) == 0) {
+                mg += ISOLATED_MG;
+                eg += ISOLATED_EG;
+            } else if ((SUPPORT_SPAN[side][sq] & own) == 0
+                    && (enemyAttacks & (1L << (sq + (white ? -8 : 8)))) != 0) {
+                // Atrasado: nenhum vizinho pode apoiá-lo e o avanço cai em ataque de peão
+                mg += BACKWARD_MG;
+                eg += BACKWARD_EG;
             }
         }
-
-        return evaluation;
+        e.middlegame += sign * mg;
+        e.endgame += sign * eg;
+        return passed;
     }
 
+    /**
+     * Mobilidade pseudo-legal das peças menores e maiores das duas cores:
+     * casas atacadas que não têm peça própria nem são defendidas por peão
+     * adversário. Sai direto das máscaras de ataque, sem gerar lances.
+     */
     private int evaluateMobility(Game game) {
-        int whiteMobility = 0;
-        int blackMobility = 0;
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Position pos = new Position(row, col);
-                Piece piece = game.board().get(pos);
-
-                if (piece != null) {
-                    int moves = game.legalMovesFrom(pos).size();
-                    if (piece.isWhite()) {
-                        whiteMobility += moves;
-                    } else {
-                        blackMobility += moves;
-                    }
-                }
+        BitBoard bits = game.bitboard();
+        return mobility(bits, true) - mobility(bits, false);
+    }
+
+    private int mobility(BitBoard bits, boolean white) {
+        long occupied = bits.occupied();
+        long safe = ~bits.occupancy(white) & ~Attacks.pawns(bits.pieces(BitBoard.PAWN, !white), !white);
+        int score = 0;
+        for (int type = BitBoard.KNIGHT; type <= BitBoard.QUEEN; type++) {
+            for (long pcs = bits.pieces(type, white); pcs != 0; pcs &= pcs - 1) {
+                int sq = Long.numberOfTrailingZeros(pcs);
+                long attacks = switch (type) {
+                    case BitBoard.KNIGHT -> Attacks.knight(sq);
+                    case BitBoard.BISHOP -> Attacks.bishop(sq, occupied);
+                    case BitBoard.ROOK -> Attacks.rook(sq, occupied);
+                    default -> Attacks.queen(sq, occupied);
+                };
+                score += Long.bitCount(attacks & safe) * MOBILITY_WEIGHT[type];
             }
         }
-
-        return (whiteMobility - blackMobility) * 2; // Peso menor que material
+        return score;
     }
 
     private int evaluateKingSafety(Game game) {
@@ -177,35 +283,4 @@ public class PositionEvaluator {
 
         return evaluation;
     }
-
-    private int getPieceValue(Piece piece) {
-        return switch (piece.getSymbol()) {
-            case "P" -> PAWN_VALUE;
-            case "N" -> KNIGHT_VALUE;
-            case "B" -> BISHOP_VALUE;
-            case "R" -> ROOK_VALUE;
-            case "Q" -> QUEEN_VALUE;
-            case "K" -> KING_VALUE;
-            default -> 0;
-        };
-    }
-
-    private int getPositionValue(Piece piece, int row, int col) {
-        int[][] table = switch (piece.getSymbol()) {
-            case "P" -> PAWN_TABLE;
-            case "N" -> KNIGHT_TABLE;
-            case "B" -> BISHOP_TABLE;
-            case "R" -> ROOK_TABLE;
-            case "Q" -> QUEEN_TABLE;
-            case "K" -> KING_MIDDLE_GAME;
-            default -> new int[8][8]; // Tabela vazia para casos não previstos
-        };
-
-        // Para peças pretas, invertemos a tabela verticalmente
-        if (!piece.isWhite()) {
-            row = 7 - row;
-        }
-
-        return table[row][col];
-    }
 }
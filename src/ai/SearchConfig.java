@@ -0,0 +1,94 @@
+package ai;
+
+/**
+ * Podas seletivas da busca do MinimaxAI, configuráveis por nível de
+ * dificuldade: poda de lance nulo e redução de lances tardios (LMR).
+ * Imutável; os métodos {@code with...} devolvem uma cópia alterada.
+ *
+ * Para testes, {@link #withSystemProperties()} permite ligar/desligar as podas
+ * sem recompilar: {@code -Dchess.search.nullmove=false},
+ * {@code -Dchess.search.nullmove.reduction=3}, {@code -Dchess.search.lmr=false}.
+ */
+public final class SearchConfig {
+
+    /** Lance nulo (R = 2) e LMR ligados. */
+    public static final SearchConfig DEFAULT = new SearchConfig(true, 2, true, 3, 3);
+
+    /** Busca completa, sem podas seletivas. */
+    public static final SearchConfig FULL_WIDTH = new SearchConfig(false, 2, false, 3, 3);
+
+    private final boolean nullMove;
+    private final int nullMoveReduction;
+    private final boolean lateMoveReductions;
+    private final int lmrMinDepth;
+    private final int lmrMinMoves;
+
+    /**
+     * @param nullMove           habilita a poda de lance nulo
+     * @param nullMoveReduction  redução R da busca após o lance nulo
+     * @param lateMoveReductions habilita LMR para lances quietos tardios
+     * @param lmrMinDepth        profundidade mínima para reduzir
+     * @param lmrMinMoves        quantos lances são buscados sem redução em cada nó
+     */
+    public SearchConfig(boolean nullMove, int nullMoveReduction, boolean lateMoveReductions,
+            int lmrMinDepth, int lmrMinMoves) {
+        this.nullMove = nullMove;
+        this.nullMoveReduction = Math.max(1, nullMoveReduction);
+        this.lateMoveReductions = lateMoveReductions;
+        this.lmrMinDepth = Math.max(2, lmrMinDepth);
+        this.lmrMinMoves = Math.max(1, lmrMinMoves);
+    }
+
+    public SearchConfig withNullMove(boolean enabled) {
+        return new SearchConfig(enabled, nullMoveReduction, lateMoveReductions, lmrMinDepth, lmrMinMoves);
+    }
+
+    public SearchConfig withNullMoveReduction(int reduction) {
+        return new SearchConfig(nullMove, reduction, lateMoveReductions, lmrMinDepth, lmrMinMoves);
+    }
+
+    public SearchConfig withLateMoveReductions(boolean enabled) {
+        return new SearchConfig(nullMove, nullMoveReduction, enabled, lmrMinDepth, lmrMinMoves);
+    }
+
+    /** Cópia com as propriedades {@code chess.search.*} definidas aplicadas; as ausentes mantêm o valor. */
+    public SearchConfig withSystemProperties() {
+        SearchConfig config = this;
+        String nullMoveProperty = System.getProperty("chess.search.nullmove");
+        if (nullMoveProperty != null)
+            config = config.withNullMove(Boolean.parseBoolean(nullMoveProperty));
+        Integer reduction = Integer.getInteger("chess.search.nullmove.reduction");
+        if (reduction != null)
+            config = config.withNullMoveReduction(reduction);
+        String lmrProperty = System.getProperty("chess.search.lmr");
+        if (lmrProperty != null)
+            config = config.withLateMoveReductions(Boolean.parseBoolean(lmrProperty));
+        return config;
+    }
+
+    public boolean isNullMove() {
+        return nullMove;
+    }
+
+    public int getNullMoveReduction() {
+        return nullMoveReduction;
+    }
+
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    public int getLmrMinDepth() {
+        return lmrMinDepth;
+    }
+
+    public int getLmrMinMoves() {
+        return lmrMinMoves;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchConfig{nullMove=%b (R=%d), lmr=%b (depth>=%d, moves>=%d)}",
+                nullMove, nullMoveReduction, lateMoveReductions, lmrMinDepth, lmrMinMoves);
+    }
+}
@@ -0,0 +1,62 @@
+package ai;
+
+/**
+ * Limites de uma busca: profundidade máxima, tempo de relógio e número de
+ * nós. Zero significa "sem limite" para tempo e nós; a busca para no
+ * primeiro limite atingido e devolve o resultado da última iteração completa.
+ */
+public final class SearchLimits {
+
+    /** Profundidade usada quando apenas tempo ou nós limitam a busca. */
+    public static final int MAX_DEPTH = 64;
+
+    private final int maxDepth;
+    private final long timeMillis;
+    private final long maxNodes;
+
+    public SearchLimits(int maxDepth, long timeMillis, long maxNodes) {
+        this.maxDepth = Math.max(1, Math.min(maxDepth, MAX_DEPTH));
+        this.timeMillis = Math.max(0, timeMillis);
+        this.maxNodes = Math.max(0, maxNodes);
+    }
+
+    /** Busca até a profundidade indicada, sem limite de tempo. */
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, 0, 0);
+    }
+
+    /** Busca pelo tempo indicado (ms), aprofundando o quanto der. */
+    public static SearchLimits time(long timeMillis) {
+        return new SearchLimits(MAX_DEPTH, timeMillis, 0);
+    }
+
+    /** Busca até visitar aproximadamente o número de nós indicado. */
+    public static SearchLimits nodes(long maxNodes) {
+        return new SearchLimits(MAX_DEPTH, 0, maxNodes);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public boolean hasTimeLimit() {
+        return timeMillis > 0;
+    }
+
+    public boolean hasNodeLimit() {
+        return maxNodes > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchLimits{depth=%d, time=%dms, nodes=%d}", maxDepth, timeMillis, maxNodes);
+    }
+}
@@ -1,12 +1,10 @@
 package ai;
 
 import controller.Game;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
-import model.board.Position;
-import model.pieces.Pawn;
-import model.pieces.Piece;
+import model.board.BitBoard;
+import model.board.MoveGenerator;
+import model.board.PackedMove;
 
 /**
  * IA simples que usa heurísticas básicas.
@@ -35,15 +33,21 @@ public class SimpleAI implements ChessAI {
         if (game.isGameOver())
             return null;
 
-        List<Move> allMoves = generateAllMoves(game, isWhite);
-        if (allMoves.isEmpty())
+        // Um único snapshot por busca; os lances são simulados com make/unmake
+        Game search = game.createSnapshot();
+        int[] allMoves = new int[MoveGenerator.MAX_MOVES];
+        int[] replies = new int[MoveGenerator.MAX_MOVES];
+        int count = generateAllMoves(search, allMoves);
+        if (count == 0)
             return null;
 
-        List<Move> bestMoves = new ArrayList<>();
+        int[] bestMoves = new int[count];
+        int bestCount = 0;
         int bestScore = isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
 
-        for (Move move : allMoves) {
-            int score = evaluateMove(move, game, isWhite);
+        for (int i = 0; i < count; i++) {
+            int move = allMoves[i];
+            int score = evaluateMove(move, search, isWhite, replies);
 
             // Adiciona randomness baseada no fator configurado
             if (randomnessFactor > 0) {
@@ -51,100 +55,64 @@ public class SimpleAI implements ChessAI {
                 score += randomBonus;
             }
 
-            if (isWhite && score > bestScore) {
+            if (isWhite ? score > bestScore : score < bestScore) {
                 bestScore = score;
-                bestMoves.clear();
-                bestMoves.add(move);
-            } else if (isWhite && score == bestScore) {
-                bestMoves.add(move);
-            } else if (!isWhite && score < bestScore) {
-                bestScore = score;
-                bestMoves.clear();
-                bestMoves.add(move);
-            } else if (!isWhite && score == bestScore) {
-                bestMoves.add(move);
+                bestCount = 0;
+                bestMoves[bestCount++] = move;
+            } else if (score == bestScore) {
+                bestMoves[bestCount++] = move;
             }
         }
 
         // Escolhe aleatoriamente entre os melhores movimentos
-        Move chosen = bestMoves.get(random.nextInt(bestMoves.size()));
-        return new AIMove(chosen.from, chosen.to, chosen.promotion, bestScore);
+        int chosen = bestMoves[random.nextInt(bestCount)];
+        return AIMove.fromPacked(chosen, bestScore);
     }
 
-    private int evaluateMove(Move move, Game game, boolean isWhite) {
-        // Cria snapshot e executa o movimento
-        Game tempGame = createSimpleSnapshot(game);
-        tempGame.move(move.from, move.to, move.promotion);
-
-        if (lookAheadDepth <= 1) {
-            return evaluator.evaluate(tempGame);
-        }
-
-        // Look-ahead simples (1 movimento à frente)
-        List<Move> opponentMoves = generateAllMoves(tempGame, !isWhite);
-        if (opponentMoves.isEmpty()) {
-            return evaluator.evaluate(tempGame);
-        }
-
-        int bestOpponentScore = !isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
-        for (Move opponentMove : opponentMoves) {
-            Game tempGame2 = createSimpleSnapshot(tempGame);
-            tempGame2.move(opponentMove.from, opponentMove.to, opponentMove.promotion);
+    private int evaluateMove(int move, Game game, boolean isWhite, int[] replies) {
+        // Executa o movimento no próprio snapshot e desfaz ao final
+        long undo = game.makeMove(move);
+        try {
+            if (lookAheadDepth <= 1) {
+                return evaluator.evaluate(game);
+            }
 
-            int score = evaluator.evaluate(tempGame2);
-            if (!isWhite && score > bestOpponentScore) {
-                bestOpponentScore = score;
-            } else if (isWhite && score < bestOpponentScore) {
-                bestOpponentScore = score;
+            // Look-ahead simples (1 movimento à frente)
+            int count = generateAllMoves(game, replies);
+            if (count == 0) {
+                // Mate (avaliado pelo evaluator) ou afogamento
+                return game.inCheck(!isWhite) ? evaluator.evaluate(game) : 0;
             }
-        }
 
-        return bestOpponentScore;
-    }
+            int bestOpponentScore = !isWhite ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                long undo2 = game.makeMove(replies[i]);
+                int score = evaluator.evaluate(game);
+                game.unmakeMove(undo2);
 
-    private List<Move> generateAllMoves(Game game, boolean isWhite) {
-        List<Move> moves = new ArrayList<>();
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Position from = new Position(row, col);
-                Piece piece = game.board().get(from);
-
-                if (piece != null && piece.isWhite() == isWhite) {
-                    List<Position> legalMoves = game.legalMovesFrom(from);
-
-                    for (Position to : legalMoves) {
-                        if (piece instanceof Pawn && game.isPromotion(from, to)) {
-                            // Para IA simples, sempre promove para Rainha
-                            moves.add(new Move(from, to, 'Q'));
-                        } else {
-                            moves.add(new Move(from, to, null));
-                        }
-                    }
+                if (!isWhite && score > bestOpponentScore) {
+                    bestOpponentScore = score;
+                } else if (isWhite && score < bestOpponentScore) {
+                    bestOpponentScore = score;
                 }
             }
-        }
 
-        return moves;
+            return bestOpponentScore;
+        } finally {
+            game.unmakeMove(undo);
+        }
     }
 
-    private Game createSimpleSnapshot(Game original) {
-        // Versão simplificada do snapshot para IA básica
-        Game snapshot = new Game();
-        snapshot.board().clear();
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Position pos = new Position(row, col);
-                Piece piece = original.board().get(pos);
-                if (piece != null) {
-                    Piece copy = piece.copyFor(snapshot.board());
-                    snapshot.board().set(pos, copy);
-                }
-            }
+    // Lances legais do lado a jogar; para a IA simples, promoção sempre a dama
+    private int generateAllMoves(Game game, int[] moves) {
+        int total = MoveGenerator.generateLegal(game.bitboard(), moves, 0);
+        int count = 0;
+        for (int i = 0; i < total; i++) {
+            int move = moves[i];
+            if (!PackedMove.isPromotion(move) || PackedMove.promotion(move) == BitBoard.QUEEN)
+                moves[count++] = move;
         }
-
-        return snapshot;
+        return count;
     }
 
     @Override
@@ -156,17 +124,4 @@ public class SimpleAI implements ChessAI {
     public String getDifficultyDescription() {
         return description;
     }
-
-    // Classe auxiliar para movimentos
-    private static class Move {
-        final Position from;
-        final Position to;
-        final Character promotion;
-
-        Move(Position from, Position to, Character promotion) {
-            this.from = from;
-            this.to = to;
-            this.promotion = promotion;
-        }
-    }
 }
@@ -0,0 +1,81 @@
+package ai;
+
+import model.board.Attacks;
+import model.board.BitBoard;
+
+/**
+ * Avaliação estática de trocas (SEE): resolve toda a sequência de capturas
+ * numa casa, sempre com o atacante de menor valor, e devolve o saldo de
+ * material para quem inicia a troca. Cada lado pode interromper a sequência
+ * quando continuar lhe for desfavorável. Cravações são ignoradas.
+ */
+public final class StaticExchange {
+
+    // Valores por tipo (peão..rei); o rei só captura por último
+    private static final int[] VALUES = { 100, 320, 330, 500, 900, 20000 };
+
+    /** Tamanho mínimo do buffer de ganhos: mais capturas numa casa do que peças no tabuleiro. */
+    public static final int MAX_EXCHANGE = 32;
+
+    private StaticExchange() {
+    }
+
+    /**
+     * Saldo de material (centipawns) do lance {@code from -> to} após a troca completa.
+     * {@code gain} é um buffer de rascunho do chamador, com ao menos
+     * {@link #MAX_EXCHANGE} posições, reaproveitado entre chamadas.
+     */
+    public static int see(BitBoard b, int from, int to, int[] gain) {
+        gain[0] = 0;
+        int attacker = b.pieceAt(from);
+        int victim = b.pieceAt(to);
+        long occupied = b.occupied() ^ (1L << from);
+
+        if (victim != BitBoard.EMPTY) {
+            gain[0] = VALUES[BitBoard.typeOf(victim)];
+        } else if (BitBoard.typeOf(attacker) == BitBoard.PAWN && to == b.epSquare()) {
+            // En passant: o peão capturado está atrás da casa de destino
+            gain[0] = VALUES[BitBoard.PAWN];
+            occupied ^= 1L << (to + (BitBoard.isWhite(attacker) ? 8 : -8));
+        }
+
+        long rookLike = b.pieces(BitBoard.ROOK, true) | b.pieces(BitBoard.ROOK, false)
+                | b.pieces(BitBoard.QUEEN, true) | b.pieces(BitBoard.QUEEN, false);
+        long bishopLike = b.pieces(BitBoard.BISHOP, true) | b.pieces(BitBoard.BISHOP, false)
+                | b.pieces(BitBoard.QUEEN, true) | b.pieces(BitBoard.QUEEN, false);
+        long attackers = b.attackersTo(to, occupied) & occupied;
+        boolean white = !BitBoard.isWhite(attacker);
+        int attackerType = BitBoard.typeOf(attacker);
+        int d = 0;
+
+        while (d < MAX_EXCHANGE - 1) {
+            d++;
+            // Ganho especulativo se a peça que acabou de capturar for recapturada
+            gain[d] = VALUES[attackerType] - gain[d - 1];
+
+            long own = attackers & b.occupancy(white);
+            if (own == 0)
+                break;
+            attackerType = leastValuable(b, own, white);
+            long bit = Long.lowestOneBit(own & b.pieces(attackerType, white));
+            occupied ^= bit;
+
+            // Peças deslizantes atrás do atacante removido passam a atacar
+            attackers |= (Attacks.rook(to, occupied) & rookLike) | (Attacks.bishop(to, occupied) & bishopLike);
+            attackers &= occupied;
+            white = !white;
+        }
+
+        while (--d > 0)
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+        return gain[0];
+    }
+
+    private static int leastValuable(BitBoard b, long attackers, boolean white) {
+        for (int type = BitBoard.PAWN; type <= BitBoard.KING; type++) {
+            if ((attackers & b.pieces(type, white)) != 0)
+                return type;
+        }
+        return BitBoard.KING;
+    }
+}
@@ -0,0 +1,107 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição de tamanho fixo (potência de dois) compartilhável
+ * entre threads de busca sem locks.
+ *
+ * Cada entrada ocupa dois longs: {@code chave ^ dados} e {@code dados}. Uma
+ * escrita concorrente "rasgada" deixa o par inconsistente e a leitura
+ * simplesmente não confere com a chave, sendo tratada como ausência.
+ *
+ * Layout de {@code dados}:
+ * bits 0-15 movimento (origem | destino << 6 | promoção << 12, 0 = nenhum),
+ * bits 16-31 score (com sinal), bits 32-39 profundidade,
+ * bits 40-41 tipo de limite, bits 42-49 geração da busca.
+ */
+public final class TranspositionTable {
+
+    public static final int BOUND_UPPER = 1; // score <= valor guardado (fail-low)
+    public static final int BOUND_LOWER = 2; // score >= valor guardado (fail-high)
+    public static final int BOUND_EXACT = 3;
+
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] table;
+    private final int mask;
+    private volatile int generation;
+
+    /** Cria a tabela com o maior número de entradas (potência de dois) que cabe em {@code sizeMb}. */
+    public TranspositionTable(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        long entries = Long.highestOneBit(bytes / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 27); // limite do array de longs
+        this.table = new long[(int) entries * 2];
+        this.mask = (int) entries - 1;
+    }
+
+    /** Início de uma nova busca: entradas antigas passam a ter prioridade menor. */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Retorna os dados da entrada para a chave ou 0 se não houver. */
+    public long probe(long key) {
+        int i = index(key);
+        long data = table[i + 1];
+        long check = table[i];
+        return (check ^ data) == key ? data : 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int i = index(key);
+        long oldData = table[i + 1];
+        long oldKey = table[i] ^ oldData;
+
+        // Substitui se for a mesma posição, se a entrada for de busca anterior
+        // ou se a nova busca for pelo menos tão profunda
+        if (oldData != 0 && oldKey != key && generation(oldData) == generation && depth(oldData) > depth)
+            return;
+        // Mantém o melhor movimento conhecido se o novo resultado não tiver um
+        if (move == 0 && oldKey == key)
+            move = move(oldData);
+
+        long data = (move & 0xFFFFL)
+                | ((long) (Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score)) & 0xFFFF) << 16)
+                | ((long) Math.min(depth, 255) << 32)
+                | ((long) bound << 40)
+                | ((long) generation << 42);
+        table[i] = key ^ data;
+        table[i + 1] = data;
+    }
+
+    // --------- Leitura dos campos ----------
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> 42) & 0xFF);
+    }
+
+    private int index(long key) {
+        // Bits altos da chave; os baixos ficam livres para outras tabelas
+        return ((int) (key >>> 32) & mask) << 1;
+    }
+}
@@ -0,0 +1,325 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.board.BitBoard;
+import model.board.MoveGenerator;
+import model.board.Position;
+
+/**
+ * Perft: conta as folhas da árvore de lances legais até uma profundidade.
+ * Serve para validar o gerador de lances (roque, en passant, promoções) contra
+ * contagens conhecidas e para medir sua velocidade em nós/segundo.
+ *
+ * Uso (sem interface gráfica):
+ * java -cp ChessGame.jar controller.Perft perft <profundidade> [opções] [FEN]
+ * java -cp ChessGame.jar controller.Perft divide <profundidade> [opções] [FEN]
+ * java -cp ChessGame.jar controller.Perft suite [profundidadeMáxima] [opções]
+ *
+ * Opções: {@code --threads N} (perft paralelo com fork/join) e
+ * {@code --hash MB} (memoriza contagens de subárvores por posição e profundidade).
+ */
+public final class Perft {
+
+    private static final int[] PROMOTIONS = { BitBoard.QUEEN, BitBoard.ROOK, BitBoard.BISHOP, BitBoard.KNIGHT };
+    private static final int[] NO_PROMOTION = { BitBoard.QUEEN };
+
+    // Linhas 8 e 1 (destinos de promoção)
+    private static final long PROMOTION_RANKS = 0xFFL | (0xFFL << 56);
+
+    // Posições de referência com contagens conhecidas por profundidade (1, 2, ...)
+    private static final String[] SUITE_FENS = {
+            BitBoard.START_FEN,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+    };
+    private static final long[][] SUITE_COUNTS = {
+            { 20, 400, 8902, 197281, 4865609, 119060324L, 3195901860L },
+            { 48, 2039, 97862, 4085603, 193690690L, 8031647685L },
+            { 14, 191, 2812, 43238, 674624, 11030083L, 178633661L },
+            { 6, 264, 9467, 422333, 15833292L, 706045033L },
+            { 44, 1486, 62379, 2103487, 89941194L },
+            { 46, 2079, 89890, 3894594, 164075551L, 6923051137L },
+    };
+
+    // Abaixo desta profundidade restante não vale a pena criar tarefas
+    private static final int SPLIT_MIN_DEPTH = 3;
+    // A partir desta profundidade divide também o segundo ply (melhor balanceamento)
+    private static final int SPLIT_TWO_PLIES_DEPTH = 6;
+
+    // Listas de lances por thread, uma linha por profundidade restante (evita alocar por nó)
+    private static final ThreadLocal<int[][]> MOVE_BUFFERS = ThreadLocal.withInitial(() -> new int[0][]);
+
+    private Perft() {
+    }
+
+    /** Número de folhas a {@code depth} plies da posição (o estado é restaurado ao final). */
+    public static long perft(BitBoard b, int depth) {
+        if (depth <= 0) {
+            if (depth < 0)
+                throw new IllegalArgumentException("Profundidade negativa: " + depth);
+            return 1;
+        }
+
+        long nodes = 0;
+        boolean white = b.whiteToMove();
+        long checkers = b.checkers(white);
+        long pinned = b.pinned(white);
+        for (long own = b.occupancy(white); own != 0; own &= own - 1) {
+            int from = Long.numberOfTrailingZeros(own);
+            long targets = b.legalTargets(from, checkers, pinned);
+            boolean pawn = BitBoard.typeOf(b.pieceAt(from)) == BitBoard.PAWN;
+            long promoTargets = pawn ? targets & PROMOTION_RANKS : 0L;
+
+            if (depth == 1) {
+                // Contagem em bloco: cada destino de promoção vale 4 lances
+                nodes += Long.bitCount(targets) + 3L * Long.bitCount(promoTargets);
+                continue;
+            }
+            for (; targets != 0; targets &= targets - 1) {
+                int to = Long.numberOfTrailingZeros(targets);
+                if ((promoTargets & (1L << to)) != 0) {
+                    for (int promo : PROMOTIONS) {
+                        long undo = b.makeMove(from, to, promo);
+                        nodes += perft(b, depth - 1);
+                        b.unmakeMove(undo);
+                    }
+                } else {
+                    long undo = b.makeMove(from, to, BitBoard.QUEEN);
+                    nodes += perft(b, depth - 1);
+                    b.unmakeMove(undo);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Perft com memoização: subárvores já contadas para a mesma (chave, profundidade)
+     * são lidas da tabela. {@code hash} pode ser compartilhada entre threads.
+     */
+    public static long perft(BitBoard b, int depth, PerftHashTable hash) {
+        if (hash == null || depth < 2)
+            return perft(b, depth);
+        return perft(b, depth, hash, moveBuffers(depth));
+    }
+
+    private static long perft(BitBoard b, int depth, PerftHashTable hash, int[][] buffers) {
+        if (depth < 2)
+            return perft(b, depth);
+        long cached = hash.probe(b.key(), depth);
+        if (cached >= 0)
+            return cached;
+
+        long nodes = 0;
+        int[] moves = buffers[depth];
+        int count = MoveGenerator.generateLegal(b, moves, 0);
+        for (int i = 0; i < count; i++) {
+            long undo = b.makeMove(moves[i]);
+            nodes += perft(b, depth - 1, hash, buffers);
+            b.unmakeMove(undo);
+        }
+        hash.store(b.key(), depth, nodes);
+        return nodes;
+    }
+
+    /**
+     * Perft paralelo: os lances da raiz (e do segundo ply em buscas profundas)
+     * viram tarefas de fork/join, cada uma com sua cópia do tabuleiro. O
+     * tabuleiro recebido não é alterado.
+     */
+    public static long perftParallel(BitBoard b, int depth, int threads, PerftHashTable hash) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            int splitPlies = depth >= SPLIT_TWO_PLIES_DEPTH ? 2 : 1;
+            return pool.invoke(new PerftTask(b.copy(), depth, splitPlies, hash));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static final class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final BitBoard board;
+        private final int depth;
+        private final int splitPlies;
+        private final PerftHashTable hash;
+
+        PerftTask(BitBoard board, int depth, int splitPlies, PerftHashTable hash) {
+            this.board = board;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+            this.hash = hash;
+        }
+
+        @Override
+        protected Long compute() {
+            if (splitPlies == 0 || depth < SPLIT_MIN_DEPTH)
+                return perft(board, depth, hash);
+
+            // As tarefas são criadas antes de invokeAll, então a linha do buffer já está livre
+            // quando esta thread passar a executar outras tarefas
+            int[] moves = moveBuffers(depth)[depth];
+            int count = MoveGenerator.generateLegal(board, moves, 0);
+            List<PerftTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BitBoard child = board.copy();
+                child.makeMove(moves[i]);
+                tasks.add(new PerftTask(child, depth - 1, splitPlies - 1, hash));
+            }
+            long nodes = 0;
+            for (PerftTask t : invokeAll(tasks))
+                nodes += t.join();
+            return nodes;
+        }
+    }
+
+    // Buffer de lances da thread atual com ao menos depth + 1 linhas
+    private static int[][] moveBuffers(int depth) {
+        int[][] buffers = MOVE_BUFFERS.get();
+        if (buffers.length <= depth) {
+            buffers = new int[depth + 1][MoveGenerator.MAX_MOVES];
+            MOVE_BUFFERS.set(buffers);
+        }
+        return buffers;
+    }
+
+    /** Perft dividido: imprime a contagem de cada lance da raiz e devolve o total. */
+    public static long divide(BitBoard b, int depth) {
+        return divide(b, depth, 1, null);
+    }
+
+    /** Perft dividido com as mesmas opções de {@code perft}: cada subárvore da raiz usa threads e tabela. */
+    public static long divide(BitBoard b, int depth, int threads, PerftHashTable hash) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Profundidade deve ser ao menos 1: " + depth);
+        long total = 0;
+        for (long own = b.occupancy(b.whiteToMove()); own != 0; own &= own - 1) {
+            int from = Long.numberOfTrailingZeros(own);
+            boolean pawn = BitBoard.typeOf(b.pieceAt(from)) == BitBoard.PAWN;
+            for (long targets = b.legalTargets(from); targets != 0; targets &= targets - 1) {
+                int to = Long.numberOfTrailingZeros(targets);
+                boolean promotion = pawn && (PROMOTION_RANKS & (1L << to)) != 0;
+                for (int promo : promotion ? PROMOTIONS : NO_PROMOTION) {
+                    long undo = b.makeMove(from, to, promo);
+                    long n = count(b, depth - 1, threads, hash);
+                    b.unmakeMove(undo);
+                    total += n;
+                    String suffix = promotion ? String.valueOf(Character.toLowerCase(BitBoard.symbolOf(promo))) : "";
+                    System.out.println(square(from) + square(to) + suffix + ": " + n);
+                }
+            }
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            usage();
+            return;
+        }
+        String command = args[0];
+        switch (command) {
+            case "perft", "divide" -> {
+                if (args.length < 2) {
+                    usage();
+                    return;
+                }
+                int depth = Integer.parseInt(args[1]);
+                if (depth < 1) {
+                    usage();
+                    return;
+                }
+                Options opts = Options.parse(args, 2);
+                BitBoard b = Game.fromFen(fenFrom(opts.rest)).bitboard();
+                long t0 = System.nanoTime();
+                long nodes = command.equals("perft") ? opts.perft(b, depth) : divide(b, depth, opts.threads, opts.hash);
+                report(nodes, System.nanoTime() - t0);
+            }
+            case "suite" -> {
+                Options opts = Options.parse(args, 1);
+                int maxDepth = opts.rest.isEmpty() ? 4 : Integer.parseInt(opts.rest.get(0));
+                if (maxDepth < 1) {
+                    usage();
+                    return;
+                }
+                System.exit(runSuite(maxDepth, opts) ? 0 : 1);
+            }
+            default -> usage();
+        }
+    }
+
+    // Roda as posições de referência; retorna false se alguma contagem divergir
+    private static boolean runSuite(int maxDepth, Options opts) {
+        boolean ok = true;
+        long totalNodes = 0, totalNanos = 0;
+        for (int i = 0; i < SUITE_FENS.length; i++) {
+            for (int d = 1; d <= Math.min(maxDepth, SUITE_COUNTS[i].length); d++) {
+                BitBoard b = Game.fromFen(SUITE_FENS[i]).bitboard();
+                long t0 = System.nanoTime();
+                long nodes = opts.perft(b, d);
+                totalNanos += System.nanoTime() - t0;
+                totalNodes += nodes;
+                boolean match = nodes == SUITE_COUNTS[i][d - 1];
+                ok &= match;
+                System.out.printf("%s pos %d depth %d: %d (esperado %d)%n",
+                        match ? "OK  " : "FAIL", i + 1, d, nodes, SUITE_COUNTS[i][d - 1]);
+            }
+        }
+        report(totalNodes, totalNanos);
+        System.out.println(ok ? "Todas as contagens conferem." : "Há contagens divergentes!");
+        return ok;
+    }
+
+    private static void report(long nodes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("Nodes: %d%nTime: %.3f s%nNPS: %.0f%n", nodes, seconds, nodes / Math.max(seconds, 1e-9));
+    }
+
+    private static String fenFrom(List<String> args) {
+        return args.isEmpty() ? BitBoard.START_FEN : String.join(" ", args);
+    }
+
+    // Opções de linha de comando: --threads N, --hash MB; o restante vai para rest
+    private static final class Options {
+        int threads = 1;
+        PerftHashTable hash;
+        final List<String> rest = new ArrayList<>();
+
+        static Options parse(String[] args, int start) {
+            Options o = new Options();
+            for (int i = start; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads" -> o.threads = Integer.parseInt(args[++i]);
+                    case "--hash" -> o.hash = new PerftHashTable(Integer.parseInt(args[++i]));
+                    default -> o.rest.add(args[i]);
+                }
+            }
+            return o;
+        }
+
+        long perft(BitBoard b, int depth) {
+            return count(b, depth, threads, hash);
+        }
+    }
+
+    private static long count(BitBoard b, int depth, int threads, PerftHashTable hash) {
+        return threads > 1 ? perftParallel(b, depth, threads, hash) : perft(b, depth, hash);
+    }
+
+    private static String square(int sq) {
+        return Position.of(sq).toString();
+    }
+
+    private static void usage() {
+        System.out.println("Uso: Perft perft <profundidade> [--threads N] [--hash MB] [FEN]");
+        System.out.println("     Perft divide <profundidade> [--threads N] [--hash MB] [FEN]");
+        System.out.println("     Perft suite [profundidadeMáxima] [--threads N] [--hash MB]");
+    }
+}
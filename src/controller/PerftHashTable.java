@@ -0,0 +1,49 @@
+package controller;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de memoização do perft: (chave Zobrist, profundidade) -> contagem.
+ * Tamanho fixo em potência de dois, compartilhável entre threads sem locks:
+ * cada entrada guarda {@code chave ^ dados} e {@code dados}, de modo que uma
+ * escrita concorrente incompleta é detectada na leitura e ignorada.
+ */
+public final class PerftHashTable {
+
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] table;
+    private final int mask;
+
+    public PerftHashTable(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        long entries = Math.min(Long.highestOneBit(bytes / ENTRY_BYTES), 1L << 27);
+        this.table = new long[(int) entries * 2];
+        this.mask = (int) entries - 1;
+    }
+
+    /** Contagem memorizada ou -1 se ausente. */
+    public long probe(long key, int depth) {
+        int i = index(key, depth);
+        long data = table[i + 1];
+        if ((table[i] ^ data) != key || (data & 0xFF) != depth)
+            return -1;
+        return data >>> 8;
+    }
+
+    public void store(long key, int depth, long count) {
+        int i = index(key, depth);
+        long data = (count << 8) | depth;
+        table[i] = key ^ data;
+        table[i + 1] = data;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    private int index(long key, int depth) {
+        // Profundidades diferentes da mesma posição caem em entradas diferentes
+        return ((int) ((key ^ (key >>> 32)) + depth * 0x9E3779B9) & mask) << 1;
+    }
+}
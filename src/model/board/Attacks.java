@@ -0,0 +1,251 @@
+package model.board;
+
+/**
+ * Geração de máscaras de ataque sobre bitboards.
+ * Casas indexadas como row * 8 + column (0 = a8, 63 = h1).
+ * Torres e bispos usam tabelas "magic" (fancy): a ocupação relevante da casa
+ * multiplicada por um número mágico indexa diretamente os ataques. Os números
+ * são constantes (encontrados uma vez por busca aleatória); na carga da classe
+ * só se preenchem as tabelas.
+ */
+public final class Attacks {
+
+    private static final int[][] KNIGHT_DELTAS = {
+            { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 },
+            { 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 }
+    };
+
+    private static final int[][] KING_DELTAS = {
+            { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 },
+            { 0, 1 }, { 1, -1 }, { 1, 0 }, { 1, 1 }
+    };
+
+    // Colunas a e h (para deslocar peões em bloco sem atravessar a borda)
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = 0x8080808080808080L;
+
+    private static final int[][] WHITE_PAWN_DELTAS = { { -1, -1 }, { -1, 1 } };
+    private static final int[][] BLACK_PAWN_DELTAS = { { 1, -1 }, { 1, 1 } };
+
+    private static final int[][] ROOK_DIRS = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+    private static final int[][] BISHOP_DIRS = { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+
+    // Ataques de cavalo, rei e peão (por cor: 0 = brancas, 1 = pretas) por casa
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            KNIGHT_ATTACKS[sq] = leaper(sq, KNIGHT_DELTAS);
+            KING_ATTACKS[sq] = leaper(sq, KING_DELTAS);
+            PAWN_ATTACKS[0][sq] = leaper(sq, WHITE_PAWN_DELTAS);
+            PAWN_ATTACKS[1][sq] = leaper(sq, BLACK_PAWN_DELTAS);
+        }
+    }
+
+    // Tabelas magic: máscara de ocupação relevante (sem bordas), multiplicador,
+    // deslocamento e início da fatia de cada casa na tabela de ataques
+    private static final long[] ROOK_MASK = new long[64];
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final int[] ROOK_OFFSET = new int[64];
+    private static final long[] ROOK_TABLE;
+
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final int[] BISHOP_OFFSET = new int[64];
+    private static final long[] BISHOP_TABLE;
+
+    // Multiplicadores por casa (a8..h1), achados por sorteio de números esparsos
+    // (xorshift64*, AND de três sorteios) até não haver colisão destrutiva
+    private static final long[] ROOK_MAGIC = {
+            0xA280018020524000L, 0x1080108040002002L, 0x0200120080204008L, 0x0200060010402008L,
+            0x0200102004020008L, 0x0200080200010410L, 0x0480030012000880L, 0x2080028000422900L,
+            0x0009800080400030L, 0x1000401000402000L, 0x5002001020420088L, 0x00D0800800801001L,
+            0xC408800801040080L, 0x201E000411880200L, 0x0004000802244130L, 0x0012001100806204L,
+            0x0081A28000C00094L, 0x201000C020004000L, 0x0841828010022001L, 0x0698090021001002L,
+            0x889C010100100800L, 0x000A010100040008L, 0x0800040002811008L, 0x80080A0000540881L,
+            0x00106083800C4008L, 0x1010004240002000L, 0x2120008080100021L, 0x1000480180100080L,
+            0x0208010100081004L, 0x0822000280140080L, 0x0000616400500208L, 0x00C2004200010084L,
+            0x8000804009800024L, 0x0028810021004000L, 0x0002150041002000L, 0x0010040040400800L,
+            0x8000800801802401L, 0x0010400408012010L, 0x0000488104000210L, 0x8824008042000124L,
+            0x0084400080248010L, 0x0820005000214002L, 0x0010470020050010L, 0x0000080010008080L,
+            0x2288000409010010L, 0x0002000400028080L, 0x6240040200010100L, 0x1001040060820001L,
+            0x0941008042002A00L, 0x2000834008200880L, 0x0000108040220200L, 0x0000100080080080L,
+            0x8000802041001002L, 0x0202001008142600L, 0x0901000E00040500L, 0x00010008B2004100L,
+            0x1042052100418216L, 0x0106018010E24902L, 0x1000412813006001L, 0x1000040900201001L,
+            0x0421000410020801L, 0x8802004490080102L, 0x0084183043810604L, 0x00001402810040A2L,
+    };
+
+    private static final long[] BISHOP_MAGIC = {
+            0x1024201404202044L, 0x0024100085090402L, 0x8010008608480808L, 0x0404440088043009L,
+            0x0004042000800460L, 0x0002121220084000L, 0x008422021221000CL, 0x0401004100A01000L,
+            0x0040410801440088L, 0x00002084090C6103L, 0x2010040464004000L, 0x0501044402860200L,
+            0x0400040420491240L, 0x2010882210120042L, 0x4010010090042000L, 0x0000202104100404L,
+            0xF221004008C20880L, 0x1054080254384200L, 0x040814040A409200L, 0x4048081082004408L,
+            0x4010800404A01208L, 0x1002004900920100L, 0xCA40400A02100540L, 0x0002828202288205L,
+            0x2010C90340021420L, 0x2401080010900100L, 0x0000481109080102L, 0x0808080000820003L,
+            0x0001010031904000L, 0x00010200840A0110L, 0x0090A10004040200L, 0x0009250102008080L,
+            0x0002213000205244L, 0x40034860010A0408L, 0x4000104800A41802L, 0x0081009100280040L,
+            0x0440208020120020L, 0x8010010040020044L, 0x56040092090C0114L, 0x0002020A00004049L,
+            0x0022100420028580L, 0x2429009030A00400L, 0x0001001090080200L, 0x1220404010410200L,
+            0xC00840100D000082L, 0x4020080108100308L, 0x0990024204008040L, 0x4008009400411881L,
+            0x0900880110100002L, 0x10A1008210A20000L, 0x2020210080900206L, 0x000030020A020441L,
+            0x0000101042021100L, 0x0080450438020041L, 0x1004480848108402L, 0x000210090D010480L,
+            0x000A0A0104110440L, 0x0010004048041050L, 0x0003008488680800L, 0x0821010002104400L,
+            0x0800023004504401L, 0x0860812004101088L, 0x0B00441104011400L, 0x0006101009818189L,
+    };
+
+    static {
+        ROOK_TABLE = initMagics(ROOK_DIRS, ROOK_MASK, ROOK_MAGIC, ROOK_SHIFT, ROOK_OFFSET);
+        BISHOP_TABLE = initMagics(BISHOP_DIRS, BISHOP_MASK, BISHOP_MAGIC, BISHOP_SHIFT, BISHOP_OFFSET);
+    }
+
+    // Casas estritamente entre a e b, e a linha inteira que passa por a e b
+    // (vazias se não estiverem na mesma coluna, fileira ou diagonal)
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b)
+                    continue;
+                long bit = 1L << b;
+                if ((rook(a, 0L) & bit) != 0) {
+                    BETWEEN[a][b] = rook(a, bit) & rook(b, 1L << a);
+                    LINE[a][b] = (rook(a, 0L) & rook(b, 0L)) | (1L << a) | bit;
+                } else if ((bishop(a, 0L) & bit) != 0) {
+                    BETWEEN[a][b] = bishop(a, bit) & bishop(b, 1L << a);
+                    LINE[a][b] = (bishop(a, 0L) & bishop(b, 0L)) | (1L << a) | bit;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    /** Casas atacadas por um cavalo em {@code sq}. */
+    public static long knight(int sq) {
+        return KNIGHT_ATTACKS[sq];
+    }
+
+    /** Casas atacadas por um rei em {@code sq}. */
+    public static long king(int sq) {
+        return KING_ATTACKS[sq];
+    }
+
+    /** Casas atacadas (diagonais de captura) por um peão da cor indicada. */
+    public static long pawn(int sq, boolean white) {
+        return PAWN_ATTACKS[white ? 0 : 1][sq];
+    }
+
+    /** Todas as casas atacadas pelo conjunto de peões {@code pawns} da cor indicada. */
+    public static long pawns(long pawns, boolean white) {
+        if (white)
+            return ((pawns & ~FILE_A) >>> 9) | ((pawns & ~FILE_H) >>> 7);
+        return ((pawns & ~FILE_A) << 7) | ((pawns & ~FILE_H) << 9);
+    }
+
+    /** Raios ortogonais a partir de {@code sq}, parando na primeira casa ocupada (inclusive). */
+    public static long rook(int sq, long occupied) {
+        return ROOK_TABLE[ROOK_OFFSET[sq] + (int) (((occupied & ROOK_MASK[sq]) * ROOK_MAGIC[sq]) >>> ROOK_SHIFT[sq])];
+    }
+
+    /** Raios diagonais a partir de {@code sq}, parando na primeira casa ocupada (inclusive). */
+    public static long bishop(int sq, long occupied) {
+        return BISHOP_TABLE[BISHOP_OFFSET[sq]
+                + (int) (((occupied & BISHOP_MASK[sq]) * BISHOP_MAGIC[sq]) >>> BISHOP_SHIFT[sq])];
+    }
+
+    public static long queen(int sq, long occupied) {
+        return rook(sq, occupied) | bishop(sq, occupied);
+    }
+
+    /** Casas estritamente entre {@code a} e {@code b} quando alinhadas; 0 caso contrário. */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /** Linha completa (de borda a borda) que passa por {@code a} e {@code b}; 0 se não alinhadas. */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    private static long leaper(int sq, int[][] deltas) {
+        int r = sq >>> 3, c = sq & 7;
+        long mask = 0L;
+        for (int[] d : deltas) {
+            int rr = r + d[0], cc = c + d[1];
+            if (rr >= 0 && rr < 8 && cc >= 0 && cc < 8)
+                mask |= 1L << (rr * 8 + cc);
+        }
+        return mask;
+    }
+
+    /**
+     * Monta as tabelas de uma peça deslizante: para cada casa enumera todos os
+     * subconjuntos da máscara (carry-rippler) e grava os ataques pelos raios no
+     * índice dado pelo multiplicador fixo. Uma colisão destrutiva indica
+     * multiplicador errado para a máscara.
+     */
+    private static long[] initMagics(int[][] dirs, long[] masks, long[] magics, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            masks[sq] = relevantMask(sq, dirs);
+            shifts[sq] = 64 - Long.bitCount(masks[sq]);
+            offsets[sq] = size;
+            size += 1 << Long.bitCount(masks[sq]);
+        }
+
+        long[] table = new long[size];
+        boolean[] filled = new boolean[size];
+        for (int sq = 0; sq < 64; sq++) {
+            long mask = masks[sq];
+            long subset = 0L;
+            do {
+                int idx = offsets[sq] + (int) ((subset * magics[sq]) >>> shifts[sq]);
+                long attacks = slider(sq, subset, dirs);
+                if (filled[idx] && table[idx] != attacks)
+                    throw new IllegalStateException("Número mágico inválido na casa " + sq);
+                filled[idx] = true;
+                table[idx] = attacks;
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+        }
+        return table;
+    }
+
+    // Raios sem a última casa de cada direção: a borda nunca bloqueia nada além dela
+    private static long relevantMask(int sq, int[][] dirs) {
+        int r = sq >>> 3, c = sq & 7;
+        long mask = 0L;
+        for (int[] d : dirs) {
+            int rr = r + d[0], cc = c + d[1];
+            while (rr + d[0] >= 0 && rr + d[0] < 8 && cc + d[1] >= 0 && cc + d[1] < 8) {
+                mask |= 1L << (rr * 8 + cc);
+                rr += d[0];
+                cc += d[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slider(int sq, long occupied, int[][] dirs) {
+        int r = sq >>> 3, c = sq & 7;
+        long mask = 0L;
+        for (int[] d : dirs) {
+            int rr = r + d[0], cc = c + d[1];
+            while (rr >= 0 && rr < 8 && cc >= 0 && cc < 8) {
+                long b = 1L << (rr * 8 + cc);
+                mask |= b;
+                if ((occupied & b) != 0)
+                    break;
+                rr += d[0];
+                cc += d[1];
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,702 @@
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * Estado do tabuleiro em bitboards: um long por tipo/cor de peça, máscaras de
+ * ocupação por cor e total, além de lado a jogar, direitos de roque, casa de
+ * en passant, relógio de meio-lances e chave Zobrist (mantida incrementalmente).
+ *
+ * Casas indexadas como row * 8 + column (0 = a8, 63 = h1), no mesmo sistema
+ * de coordenadas de {@link Position}. É a fonte de verdade do
+ * {@code controller.Game}; {@link Board} é apenas uma visão para a interface.
+ */
+public final class BitBoard {
+
+    // Tipos de peça
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    /** Código de casa vazia; peças usam tipo (brancas) ou tipo + 6 (pretas). */
+    public static final int EMPTY = -1;
+
+    // Direitos de roque
+    public static final int CASTLE_WHITE_KING = 1;
+    public static final int CASTLE_WHITE_QUEEN = 2;
+    public static final int CASTLE_BLACK_KING = 4;
+    public static final int CASTLE_BLACK_QUEEN = 8;
+
+    private static final String SYMBOLS = "PNBRQK";
+
+    // Máscara de direitos preservados quando uma peça sai/chega em cada casa
+    private static final int[] CASTLE_KEEP = new int[64];
+
+    static {
+        for (int i = 0; i < 64; i++)
+            CASTLE_KEEP[i] = 15;
+        CASTLE_KEEP[60] &= ~(CASTLE_WHITE_KING | CASTLE_WHITE_QUEEN); // e1
+        CASTLE_KEEP[63] &= ~CASTLE_WHITE_KING; // h1
+        CASTLE_KEEP[56] &= ~CASTLE_WHITE_QUEEN; // a1
+        CASTLE_KEEP[4] &= ~(CASTLE_BLACK_KING | CASTLE_BLACK_QUEEN); // e8
+        CASTLE_KEEP[7] &= ~CASTLE_BLACK_KING; // h8
+        CASTLE_KEEP[0] &= ~CASTLE_BLACK_QUEEN; // a8
+    }
+
+    private final long[] pieces = new long[12];
+    private final long[] occupancy = new long[2]; // [0] brancas, [1] pretas
+    private long occupied;
+    private final int[] mailbox = new int[64];
+
+    private boolean whiteToMove = true;
+    private int castlingRights;
+    private int epSquare = -1;
+    private int halfmoveClock;
+    private long key;
+    private long pawnKey; // só os peões (cache de estrutura de peões)
+    private int psqMiddlegame; // material + posição (PieceSquare), incrementais
+    private int psqEndgame;
+
+    public BitBoard() {
+        Arrays.fill(mailbox, EMPTY);
+    }
+
+    // --------- Códigos de peça ----------
+    public static int code(int type, boolean white) {
+        return white ? type : type + 6;
+    }
+
+    public static int typeOf(int code) {
+        return code % 6;
+    }
+
+    public static boolean isWhite(int code) {
+        return code < 6;
+    }
+
+    /** Letra da peça (K,Q,R,B,N,P), igual a {@code Piece.getSymbol()}. */
+    public static char symbolOf(int type) {
+        return SYMBOLS.charAt(type);
+    }
+
+    /** Tipo correspondente à letra (maiúscula ou minúscula) ou EMPTY. */
+    public static int typeOfSymbol(char symbol) {
+        int t = SYMBOLS.indexOf(Character.toUpperCase(symbol));
+        return t < 0 ? EMPTY : t;
+    }
+
+    public static int square(int row, int column) {
+        return row * 8 + column;
+    }
+
+    // --------- Consulta ----------
+    public int pieceAt(int sq) {
+        return mailbox[sq];
+    }
+
+    public long pieces(int code) {
+        return pieces[code];
+    }
+
+    public long pieces(int type, boolean white) {
+        return pieces[code(type, white)];
+    }
+
+    public long occupancy(boolean white) {
+        return occupancy[white ? 0 : 1];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    public boolean whiteToMove() {
+        return whiteToMove;
+    }
+
+    public int castlingRights() {
+        return castlingRights;
+    }
+
+    public int epSquare() {
+        return epSquare;
+    }
+
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /** Chave Zobrist da posição (peças, lado a jogar, roque e en passant). */
+    public long key() {
+        return key;
+    }
+
+    /** Chave Zobrist apenas dos peões, mantida como {@link #key()}. */
+    public long pawnKey() {
+        return pawnKey;
+    }
+
+    /**
+     * Material + tabelas de posição de meio-jogo do ponto de vista das
+     * brancas, mantido incrementalmente em put/remove (e portanto em make/unmake).
+     */
+    public int psqMiddlegame() {
+        return psqMiddlegame;
+    }
+
+    /** Como {@link #psqMiddlegame()}, com as tabelas de final. */
+    public int psqEndgame() {
+        return psqEndgame;
+    }
+
+    /** Casa do rei da cor indicada ou -1 se não houver rei. */
+    public int kingSquare(boolean white) {
+        long k = pieces[code(KING, white)];
+        return k == 0 ? -1 : Long.numberOfTrailingZeros(k);
+    }
+
+    // --------- Edição direta (setup) ----------
+    public void put(int sq, int code) {
+        if (mailbox[sq] != EMPTY)
+            remove(sq);
+        long b = 1L << sq;
+        pieces[code] |= b;
+        occupancy[isWhite(code) ? 0 : 1] |= b;
+        occupied |= b;
+        mailbox[sq] = code;
+        key ^= Zobrist.piece(code, sq);
+        if (typeOf(code) == PAWN)
+            pawnKey ^= Zobrist.piece(code, sq);
+        psqMiddlegame += PieceSquare.middlegame(code, sq);
+        psqEndgame += PieceSquare.endgame(code, sq);
+    }
+
+    public int remove(int sq) {
+        int code = mailbox[sq];
+        if (code == EMPTY)
+            return EMPTY;
+        long b = ~(1L << sq);
+        pieces[code] &= b;
+        occupancy[isWhite(code) ? 0 : 1] &= b;
+        occupied &= b;
+        mailbox[sq] = EMPTY;
+        key ^= Zobrist.piece(code, sq);
+        if (typeOf(code) == PAWN)
+            pawnKey ^= Zobrist.piece(code, sq);
+        psqMiddlegame -= PieceSquare.middlegame(code, sq);
+        psqEndgame -= PieceSquare.endgame(code, sq);
+        return code;
+    }
+
+    public void clear() {
+        Arrays.fill(pieces, 0L);
+        occupancy[0] = occupancy[1] = 0L;
+        occupied = 0L;
+        Arrays.fill(mailbox, EMPTY);
+        whiteToMove = true;
+        castlingRights = 0;
+        epSquare = -1;
+        halfmoveClock = 0;
+        key = 0L;
+        pawnKey = 0L;
+        psqMiddlegame = 0;
+        psqEndgame = 0;
+    }
+
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove)
+            key ^= Zobrist.side();
+        this.whiteToMove = whiteToMove;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        key ^= Zobrist.castling(this.castlingRights) ^ Zobrist.castling(castlingRights);
+        this.castlingRights = castlingRights;
+    }
+
+    public void setEpSquare(int epSquare) {
+        key ^= Zobrist.enPassant(this.epSquare) ^ Zobrist.enPassant(epSquare);
+        this.epSquare = epSquare;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    // --------- Ataques ----------
+    /** True se {@code sq} é atacada por alguma peça da cor {@code byWhite}. */
+    public boolean isSquareAttacked(int sq, boolean byWhite) {
+        int side = byWhite ? 0 : 6;
+        // Peões atacantes estão nas casas que um peão da cor oposta em sq atacaria
+        if ((Attacks.pawn(sq, !byWhite) & pieces[PAWN + side]) != 0)
+            return true;
+        if ((Attacks.knight(sq) & pieces[KNIGHT + side]) != 0)
+            return true;
+        if ((Attacks.king(sq) & pieces[KING + side]) != 0)
+            return true;
+        long rookLike = pieces[ROOK + side] | pieces[QUEEN + side];
+        if (rookLike != 0 && (Attacks.rook(sq, occupied) & rookLike) != 0)
+            return true;
+        long bishopLike = pieces[BISHOP + side] | pieces[QUEEN + side];
+        return bishopLike != 0 && (Attacks.bishop(sq, occupied) & bishopLike) != 0;
+    }
+
+    /**
+     * Peças das duas cores que atacam {@code sq} considerando a ocupação
+     * {@code occupied}. Removendo peças da ocupação revelam-se ataques em
+     * raio-x (usado pela avaliação estática de trocas).
+     */
+    public long attackersTo(int sq, long occupied) {
+        return (Attacks.pawn(sq, false) & pieces[PAWN])
+                | (Attacks.pawn(sq, true) & pieces[PAWN + 6])
+                | (Attacks.knight(sq) & (pieces[KNIGHT] | pieces[KNIGHT + 6]))
+                | (Attacks.king(sq) & (pieces[KING] | pieces[KING + 6]))
+                | (Attacks.rook(sq, occupied) & (pieces[ROOK] | pieces[ROOK + 6] | pieces[QUEEN] | pieces[QUEEN + 6]))
+                | (Attacks.bishop(sq, occupied) & (pieces[BISHOP] | pieces[BISHOP + 6] | pieces[QUEEN] | pieces[QUEEN + 6]));
+    }
+
+    /** Peças da cor {@code white} que atacam {@code sq} na ocupação atual. */
+    public long attackersTo(int sq, boolean white) {
+        return attackersTo(sq, occupied) & occupancy[white ? 0 : 1];
+    }
+
+    /** True se o rei da cor indicada está atacado (ou ausente). */
+    public boolean inCheck(boolean white) {
+        int k = kingSquare(white);
+        return k < 0 || isSquareAttacked(k, !white);
+    }
+
+    /** Peças adversárias que dão xeque ao rei da cor indicada (0 se não houver rei). */
+    public long checkers(boolean white) {
+        int k = kingSquare(white);
+        return k < 0 ? 0L : attackersTo(k, !white);
+    }
+
+    /**
+     * Peças da cor indicada cravadas contra o próprio rei: a única peça entre
+     * o rei e uma torre, bispo ou dama adversária alinhados com ele.
+     */
+    public long pinned(boolean white) {
+        int k = kingSquare(white);
+        if (k < 0)
+            return 0L;
+        int enemy = white ? 6 : 0;
+        long snipers = (Attacks.rook(k, 0L) & (pieces[ROOK + enemy] | pieces[QUEEN + enemy]))
+                | (Attacks.bishop(k, 0L) & (pieces[BISHOP + enemy] | pieces[QUEEN + enemy]));
+        long pinned = 0L;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = Attacks.between(k, Long.numberOfTrailingZeros(snipers)) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0)
+                pinned |= blockers & occupancy[white ? 0 : 1];
+        }
+        return pinned;
+    }
+
+    // --------- Pseudo-movimentos ----------
+    /**
+     * Destinos pseudo-legais da peça em {@code from} (não filtra xeque ao
+     * próprio rei). Inclui en passant e roque; nunca inclui captura de rei.
+     */
+    public long pseudoTargets(int from) {
+        int code = mailbox[from];
+        if (code == EMPTY)
+            return 0L;
+        boolean white = isWhite(code);
+        long own = occupancy[white ? 0 : 1];
+        long enemyKing = pieces[code(KING, !white)];
+        long targets;
+
+        switch (typeOf(code)) {
+            case PAWN -> targets = pawnTargets(from, white);
+            case KNIGHT -> targets = Attacks.knight(from) & ~own;
+            case BISHOP -> targets = Attacks.bishop(from, occupied) & ~own;
+            case ROOK -> targets = Attacks.rook(from, occupied) & ~own;
+            case QUEEN -> targets = Attacks.queen(from, occupied) & ~own;
+            default -> targets = (Attacks.king(from) & ~own) | castlingTargets(from, white);
+        }
+        return targets & ~enemyKing;
+    }
+
+    private long pawnTargets(int from, boolean white) {
+        int dir = white ? -8 : 8;
+        int row = from >>> 3;
+        long targets = 0L;
+
+        int f1 = from + dir;
+        if (f1 >= 0 && f1 < 64 && mailbox[f1] == EMPTY) {
+            targets |= 1L << f1;
+            int startRow = white ? 6 : 1;
+            int f2 = f1 + dir;
+            if (row == startRow && mailbox[f2] == EMPTY)
+                targets |= 1L << f2;
+        }
+
+        long attacks = Attacks.pawn(from, white);
+        targets |= attacks & occupancy[white ? 1 : 0];
+        // En passant só vale para o lado que está a jogar
+        if (epSquare >= 0 && white == whiteToMove && (attacks & (1L << epSquare)) != 0)
+            targets |= 1L << epSquare;
+        return targets;
+    }
+
+    private long castlingTargets(int from, boolean white) {
+        int homeKing = white ? 60 : 4;
+        if (from != homeKing)
+            return 0L;
+        int kingRight = white ? CASTLE_WHITE_KING : CASTLE_BLACK_KING;
+        int queenRight = white ? CASTLE_WHITE_QUEEN : CASTLE_BLACK_QUEEN;
+        if ((castlingRights & (kingRight | queenRight)) == 0 || isSquareAttacked(from, !white))
+            return 0L;
+
+        long rooks = pieces[code(ROOK, white)];
+        long targets = 0L;
+        // Curto: f e g vazias, f e g não atacadas
+        if ((castlingRights & kingRight) != 0 && (rooks & (1L << (from + 3))) != 0
+                && mailbox[from + 1] == EMPTY && mailbox[from + 2] == EMPTY
+                && !isSquareAttacked(from + 1, !white) && !isSquareAttacked(from + 2, !white)) {
+            targets |= 1L << (from + 2);
+        }
+        // Longo: b, c e d vazias, d e c não atacadas
+        if ((castlingRights & queenRight) != 0 && (rooks & (1L << (from - 4))) != 0
+                && mailbox[from - 1] == EMPTY && mailbox[from - 2] == EMPTY && mailbox[from - 3] == EMPTY
+                && !isSquareAttacked(from - 1, !white) && !isSquareAttacked(from - 2, !white)) {
+            targets |= 1L << (from - 2);
+        }
+        return targets;
+    }
+
+    // --------- Execução (make/unmake) ----------
+    // Layout do registro de desfazer (long):
+    //  bits 0-5   origem            bits 6-11  destino
+    //  bits 12-15 peça capturada+1  bit 16     promoção   bit 17 en passant
+    //  bits 20-23 roque anterior    bits 24-30 en passant anterior+1
+    //  bits 32-47 relógio de meio-lances anterior
+    private static final long UNDO_PROMOTION = 1L << 16;
+    private static final long UNDO_EN_PASSANT = 1L << 17;
+
+    /**
+     * Executa o movimento no próprio tabuleiro sem validar legalidade (roque,
+     * en passant e promoção incluídos) e devolve o registro compacto para
+     * {@link #unmakeMove(long)}. {@code promotionType} é ignorado se não for
+     * promoção; valores inválidos viram dama.
+     */
+    public long makeMove(int from, int to, int promotionType) {
+        int code = mailbox[from];
+        boolean white = isWhite(code);
+        int type = typeOf(code);
+
+        long undo = from | (to << 6)
+                | ((long) castlingRights << 20)
+                | ((long) (epSquare + 1) << 24)
+                | ((long) halfmoveClock << 32);
+
+        int captured = remove(to);
+        remove(from);
+
+        if (type == PAWN && to == epSquare) {
+            captured = remove(to + (white ? 8 : -8)); // vítima atrás da casa alvo
+            undo |= UNDO_EN_PASSANT;
+        }
+        if (captured != EMPTY)
+            undo |= (long) (captured + 1) << 12;
+
+        int placed = code;
+        if (type == PAWN && (to < 8 || to >= 56)) {
+            int promo = (promotionType >= KNIGHT && promotionType <= QUEEN) ? promotionType : QUEEN;
+            placed = code(promo, white);
+            undo |= UNDO_PROMOTION;
+        }
+        put(to, placed);
+
+        if (type == KING && Math.abs(to - from) == 2) {
+            if (to > from)
+                put(from + 1, remove(from + 3)); // O-O: torre h -> f
+            else
+                put(from - 1, remove(from - 4)); // O-O-O: torre a -> d
+        }
+
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(epSquare);
+        castlingRights &= CASTLE_KEEP[from] & CASTLE_KEEP[to];
+        epSquare = -1;
+        if (type == PAWN && Math.abs(to - from) == 16) {
+            // Só registra en passant se algum peão adversário puder capturar,
+            // para que a chave não diferencie posições idênticas
+            int ep = (from + to) / 2;
+            if ((Attacks.pawn(ep, white) & pieces[code(PAWN, !white)]) != 0)
+                epSquare = ep;
+        }
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(epSquare) ^ Zobrist.side();
+        halfmoveClock = (type == PAWN || captured != EMPTY) ? 0 : halfmoveClock + 1;
+        whiteToMove = !whiteToMove;
+        return undo;
+    }
+
+    /** Executa um lance codificado por {@link PackedMove}; mesmo registro de desfazer. */
+    public long makeMove(int move) {
+        return makeMove(PackedMove.from(move), PackedMove.to(move), PackedMove.promotion(move));
+    }
+
+    /** Desfaz o movimento descrito pelo registro devolvido por {@link #makeMove}. */
+    public void unmakeMove(long undo) {
+        int from = (int) (undo & 63);
+        int to = (int) ((undo >>> 6) & 63);
+        int captured = (int) ((undo >>> 12) & 15) - 1;
+
+        int placed = remove(to);
+        boolean white = isWhite(placed);
+        put(from, (undo & UNDO_PROMOTION) != 0 ? code(PAWN, white) : placed);
+
+        if (captured != EMPTY)
+            put((undo & UNDO_EN_PASSANT) != 0 ? to + (white ? 8 : -8) : to, captured);
+
+        if (typeOf(placed) == KING && Math.abs(to - from) == 2) {
+            if (to > from)
+                put(from + 3, remove(from + 1));
+            else
+                put(from - 4, remove(from - 1));
+        }
+
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(epSquare) ^ Zobrist.side();
+        castlingRights = (int) ((undo >>> 20) & 15);
+        epSquare = (int) ((undo >>> 24) & 127) - 1;
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(epSquare);
+        halfmoveClock = (int) ((undo >>> 32) & 0xFFFF);
+        whiteToMove = !whiteToMove;
+    }
+
+    /**
+     * Lance nulo: passa a vez sem mover peça (usado pela poda de lance nulo da
+     * busca). Devolve a casa de en passant anterior para {@link #unmakeNullMove(int)}.
+     */
+    public int makeNullMove() {
+        int previousEp = epSquare;
+        key ^= Zobrist.enPassant(epSquare) ^ Zobrist.side();
+        epSquare = -1;
+        whiteToMove = !whiteToMove;
+        return previousEp;
+    }
+
+    public void unmakeNullMove(int previousEp) {
+        key ^= Zobrist.enPassant(previousEp) ^ Zobrist.side();
+        epSquare = previousEp;
+        whiteToMove = !whiteToMove;
+    }
+
+    /** Destinos legais da peça em {@code from}. */
+    public long legalTargets(int from) {
+        int code = mailbox[from];
+        if (code == EMPTY)
+            return 0L;
+        boolean white = isWhite(code);
+        return legalTargets(from, checkers(white), pinned(white));
+    }
+
+    /**
+     * Destinos legais da peça em {@code from}, dados os xeques e as cravações
+     * da sua cor ({@link #checkers}, {@link #pinned}), calculados uma vez por
+     * posição pelo gerador. Só o rei e o en passant testam casas atacadas;
+     * as demais peças apenas recortam os destinos pseudo-legais. Um lado sem
+     * rei não tem lances legais.
+     */
+    public long legalTargets(int from, long checkers, long pinned) {
+        int code = mailbox[from];
+        if (code == EMPTY)
+            return 0L;
+        boolean white = isWhite(code);
+        int k = kingSquare(white);
+        if (k < 0)
+            return 0L; // sem rei não há lances legais: inCheck trata rei ausente como xeque
+
+        long targets = pseudoTargets(from);
+        long enemies = occupancy[white ? 1 : 0];
+        if (from == k) {
+            // O rei não pode ir a casa atacada; tirá-lo da ocupação revela
+            // raios que passavam por ele. Roque já vem validado.
+            long withoutKing = occupied ^ (1L << k);
+            long legal = 0L;
+            for (long steps = targets & Attacks.king(k); steps != 0; steps &= steps - 1) {
+                int to = Long.numberOfTrailingZeros(steps);
+                if ((attackersTo(to, withoutKing) & enemies) == 0)
+                    legal |= 1L << to;
+            }
+            return legal | (targets & ~Attacks.king(k));
+        }
+        if ((checkers & (checkers - 1)) != 0)
+            return 0L; // xeque duplo: só o rei se move
+
+        long mask = -1L;
+        if (checkers != 0)
+            mask = checkers | Attacks.between(k, Long.numberOfTrailingZeros(checkers));
+        if ((pinned & (1L << from)) != 0)
+            mask &= Attacks.line(k, from);
+
+        if (typeOf(code) == PAWN && epSquare >= 0 && (targets & (1L << epSquare)) != 0) {
+            // En passant remove duas peças da fileira (xeque descoberto
+            // horizontal) e pode capturar o próprio peão que dá xeque
+            targets &= ~(1L << epSquare);
+            int victim = epSquare + (white ? 8 : -8);
+            long after = (occupied ^ (1L << from) ^ (1L << victim)) | (1L << epSquare);
+            if ((attackersTo(k, after) & enemies & ~(1L << victim)) == 0)
+                return (targets & mask) | (1L << epSquare);
+        }
+        return targets & mask;
+    }
+
+    // --------- FEN ----------
+    /** Posição inicial padrão em FEN. */
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * Cria o estado a partir de uma string FEN (campos de relógio opcionais).
+     *
+     * @throws IllegalArgumentException se a FEN for inválida
+     */
+    public static BitBoard fromFen(String fen) {
+        String[] parts = fen.trim().split("\\s+");
+        if (parts.length < 2)
+            throw new IllegalArgumentException("FEN incompleta: " + fen);
+
+        BitBoard b = new BitBoard();
+        int row = 0, col = 0;
+        boolean afterDigit = false;
+        for (char ch : parts[0].toCharArray()) {
+            if (ch == '/') {
+                // Cada linha precisa somar exatamente 8 casas
+                if (col != 8)
+                    throw invalidFen(fen, "linha " + (8 - row) + " não tem 8 casas");
+                if (++row > 7)
+                    throw invalidFen(fen, "mais de 8 linhas");
+                col = 0;
+                afterDigit = false;
+                continue;
+            }
+            if (ch >= '1' && ch <= '8') {
+                col += ch - '0';
+                if (afterDigit || col > 8)
+                    throw invalidFen(fen, "linha " + (8 - row) + " malformada");
+                afterDigit = true;
+            } else {
+                afterDigit = false;
+                int type = typeOfSymbol(ch);
+                if (type == EMPTY)
+                    throw invalidFen(fen, "símbolo '" + ch + "'");
+                if (col > 7)
+                    throw invalidFen(fen, "linha " + (8 - row) + " malformada");
+                b.put(square(row, col++), code(type, Character.isUpperCase(ch)));
+            }
+        }
+        if (row != 7 || col != 8)
+            throw invalidFen(fen, "o tabuleiro precisa de 8 linhas de 8 casas");
+        if (b.kingSquare(true) < 0 || b.kingSquare(false) < 0)
+            throw invalidFen(fen, "falta um dos reis");
+
+        switch (parts[1]) {
+            case "w" -> b.setWhiteToMove(true);
+            case "b" -> b.setWhiteToMove(false);
+            default -> throw invalidFen(fen, "lado a jogar '" + parts[1] + "'");
+        }
+
+        int rights = 0;
+        if (parts.length > 2 && !parts[2].equals("-")) {
+            for (char ch : parts[2].toCharArray()) {
+                rights |= switch (ch) {
+                    case 'K' -> CASTLE_WHITE_KING;
+                    case 'Q' -> CASTLE_WHITE_QUEEN;
+                    case 'k' -> CASTLE_BLACK_KING;
+                    case 'q' -> CASTLE_BLACK_QUEEN;
+                    default -> throw invalidFen(fen, "roque '" + parts[2] + "'");
+                };
+            }
+        }
+        b.setCastlingRights(rights);
+
+        if (parts.length > 3 && !parts[3].equals("-")) {
+            String field = parts[3];
+            // Casa de en passant: coluna a-h na linha 3 ou 6
+            if (field.length() != 2 || field.charAt(0) < 'a' || field.charAt(0) > 'h'
+                    || (field.charAt(1) != '3' && field.charAt(1) != '6'))
+                throw invalidFen(fen, "en passant '" + field + "'");
+            int ep = square(8 - (field.charAt(1) - '0'), field.charAt(0) - 'a');
+            // Mesma regra de makeMove: só registra se houver captura possível
+            boolean moverWhite = !b.whiteToMove;
+            if ((Attacks.pawn(ep, moverWhite) & b.pieces[code(PAWN, !moverWhite)]) != 0)
+                b.setEpSquare(ep);
+        }
+        if (parts.length > 4) {
+            int halfmoves;
+            try {
+                halfmoves = Integer.parseInt(parts[4]);
+            } catch (NumberFormatException e) {
+                halfmoves = -1;
+            }
+            if (halfmoves < 0)
+                throw invalidFen(fen, "relógio de meios-lances '" + parts[4] + "'");
+            b.setHalfmoveClock(halfmoves);
+        }
+        return b;
+    }
+
+    private static IllegalArgumentException invalidFen(String fen, String reason) {
+        return new IllegalArgumentException("FEN inválida (" + reason + "): " + fen);
+    }
+
+    /** Representação FEN da posição (número do lance fixo em 1). */
+    public String toFen() {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                int code = mailbox[square(row, col)];
+                if (code == EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0)
+                    sb.append(empty);
+                empty = 0;
+                char symbol = symbolOf(typeOf(code));
+                sb.append(isWhite(code) ? symbol : Character.toLowerCase(symbol));
+            }
+            if (empty > 0)
+                sb.append(empty);
+            if (row < 7)
+                sb.append('/');
+        }
+        sb.append(whiteToMove ? " w " : " b ");
+        if (castlingRights == 0)
+            sb.append('-');
+        if ((castlingRights & CASTLE_WHITE_KING) != 0)
+            sb.append('K');
+        if ((castlingRights & CASTLE_WHITE_QUEEN) != 0)
+            sb.append('Q');
+        if ((castlingRights & CASTLE_BLACK_KING) != 0)
+            sb.append('k');
+        if ((castlingRights & CASTLE_BLACK_QUEEN) != 0)
+            sb.append('q');
+        sb.append(' ').append(epSquare < 0 ? "-" : Position.of(epSquare).toString());
+        sb.append(' ').append(halfmoveClock).append(" 1");
+        return sb.toString();
+    }
+
+    /** Cópia independente do estado. */
+    public BitBoard copy() {
+        BitBoard b = new BitBoard();
+        System.arraycopy(pieces, 0, b.pieces, 0, 12);
+        b.occupancy[0] = occupancy[0];
+        b.occupancy[1] = occupancy[1];
+        b.occupied = occupied;
+        System.arraycopy(mailbox, 0, b.mailbox, 0, 64);
+        b.whiteToMove = whiteToMove;
+        b.castlingRights = castlingRights;
+        b.epSquare = epSquare;
+        b.halfmoveClock = halfmoveClock;
+        b.key = key;
+        b.pawnKey = pawnKey;
+        b.psqMiddlegame = psqMiddlegame;
+        b.psqEndgame = psqEndgame;
+        return b;
+    }
+}
@@ -3,12 +3,24 @@ package model.board;
 
 import java.util.ArrayList;
 import java.util.List;
-import model.pieces.Piece;
+import model.pieces.*;
 
+/**
+ * Visão em objetos {@link Piece} do estado do jogo, usada pela interface Swing.
+ * A fonte de verdade é o {@link BitBoard} mantido pelo {@code controller.Game};
+ * esta grade é atualizada a partir dele via {@link #syncFrom(BitBoard)}.
+ */
 public class Board {
 
     private final Piece[][] grid = new Piece[8][8];
 
+    // Casas ocupadas e casas de rei por cor, espelhando a grade casa a casa em
+    // set/remove. Lidas pelos lances das peças (Piece) e pelo destaque de xeque.
+    private long whiteOccupancy;
+    private long blackOccupancy;
+    private long whiteKings;
+    private long blackKings;
+
     /** Verifica se a posição está dentro do tabuleiro (0..7). */
     public boolean isInside(Position p) {
         return p != null && p.isValid();
@@ -25,10 +37,13 @@ public class Board {
      */
     public void set(Position p, Piece piece) {
         if (!isInside(p)) return;
+        Piece old = grid[p.getRow()][p.getColumn()];
+        if (old != null) unmark(old, p);
         grid[p.getRow()][p.getColumn()] = piece;
         if (piece != null) {
             // Mantém referência de posição da peça sincronizada
             piece.setPosition(p);
+            mark(piece, p);
         }
     }
 
@@ -37,6 +52,7 @@ public class Board {
         if (!isInside(p)) return null;
         Piece old = grid[p.getRow()][p.getColumn()];
         grid[p.getRow()][p.getColumn()] = null;
+        if (old != null) unmark(old, p);
         return old;
     }
 
@@ -57,16 +73,17 @@ public class Board {
                 grid[r][c] = null;
             }
         }
+        whiteOccupancy = 0L;
+        blackOccupancy = 0L;
+        whiteKings = 0L;
+        blackKings = 0L;
     }
 
-    /** Lista todas as peças de uma cor. */
+    /** Lista todas as peças de uma cor (visita só as casas ocupadas por ela). */
     public List<Piece> pieces(boolean white) {
         List<Piece> out = new ArrayList<>();
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece pc = grid[r][c];
-                if (pc != null && pc.isWhite() == white) out.add(pc);
-            }
+        for (long occ = occupancy(white); occ != 0; occ &= occ - 1) {
+            out.add(get(Position.of(Long.numberOfTrailingZeros(occ))));
         }
         return out;
     }
@@ -76,6 +93,22 @@ public class Board {
         return pieces(white);
     }
 
+    /** Bitboard das casas ocupadas por uma cor. */
+    public long occupancy(boolean white) {
+        return white ? whiteOccupancy : blackOccupancy;
+    }
+
+    /** Bitboard de todas as casas ocupadas. */
+    public long occupied() {
+        return whiteOccupancy | blackOccupancy;
+    }
+
+    /** Casa do rei da cor indicada, ou null se não houver rei no tabuleiro. */
+    public Position kingPosition(boolean white) {
+        long kings = white ? whiteKings : blackKings;
+        return kings == 0 ? null : Position.of(Long.numberOfTrailingZeros(kings));
+    }
+
     /**
      * Cópia profunda do tabuleiro (clona peças para o novo Board).
      * Requer que Piece.copyFor(b) crie uma nova peça já associada ao Board b,
@@ -88,11 +121,89 @@ public class Board {
                 Piece p = grid[r][c];
                 if (p != null) {
                     Piece cp = p.copyFor(b);                 // nova peça ligada ao Board "b"
-                    b.grid[r][c] = cp;                       // atribui diretamente (evita set() duplicado)
-                    cp.setPosition(new Position(r, c));      // sincroniza a posição do clone
+                    b.set(Position.of(r, c), cp);            // posiciona e registra a ocupação
                 }
             }
         }
         return b;
     }
+
+    /**
+     * Sincroniza a grade com o estado em bitboards.
+     * Só recria peças nas casas cujo conteúdo mudou; a flag "moved" das peças
+     * novas é inferida pela casa inicial (roque/en passant usam o BitBoard).
+     */
+    public void syncFrom(BitBoard bits) {
+        for (int r = 0; r < 8; r++) {
+            for (int c = 0; c < 8; c++) {
+                int sq = BitBoard.square(r, c);
+                int code = bits.pieceAt(sq);
+                Piece cur = grid[r][c];
+                if (code == BitBoard.EMPTY) {
+                    if (cur != null) remove(Position.of(r, c));
+                } else if (cur == null || codeOf(cur) != code) {
+                    Piece np = createPiece(code);
+                    np.setMoved(!isStartSquare(code, r, c));
+                    set(Position.of(r, c), np);
+                }
+            }
+        }
+    }
+
+    private void mark(Piece piece, Position p) {
+        long bit = 1L << p.index();
+        boolean king = piece instanceof King;
+        if (piece.isWhite()) {
+            whiteOccupancy |= bit;
+            if (king) whiteKings |= bit;
+        } else {
+            blackOccupancy |= bit;
+            if (king) blackKings |= bit;
+        }
+    }
+
+    private void unmark(Piece piece, Position p) {
+        long bit = ~(1L << p.index());
+        if (piece.isWhite()) {
+            whiteOccupancy &= bit;
+            whiteKings &= bit;
+        } else {
+            blackOccupancy &= bit;
+            blackKings &= bit;
+        }
+    }
+
+    /** Código de peça do {@link BitBoard} correspondente à peça. */
+    public static int codeOf(Piece piece) {
+        return BitBoard.code(BitBoard.typeOfSymbol(piece.getSymbol().charAt(0)), piece.isWhite());
+    }
+
+    /** Cria uma peça ligada a este tabuleiro a partir do código do {@link BitBoard}. */
+    public Piece createPiece(int code) {
+        boolean white = BitBoard.isWhite(code);
+        return switch (BitBoard.typeOf(code)) {
+            case BitBoard.PAWN -> new Pawn(this, white);
+            case BitBoard.KNIGHT -> new Knight(this, white);
+            case BitBoard.BISHOP -> new Bishop(this, white);
+            case BitBoard.ROOK -> new Rook(this, white);
+            case BitBoard.QUEEN -> new Queen(this, white);
+            default -> new King(this, white);
+        };
+    }
+
+    private static boolean isStartSquare(int code, int r, int c) {
+        boolean white = BitBoard.isWhite(code);
+        int type = BitBoard.typeOf(code);
+        if (type == BitBoard.PAWN)
+            return r == (white ? 6 : 1);
+        if (r != (white ? 7 : 0))
+            return false;
+        return switch (type) {
+            case BitBoard.KNIGHT -> c == 1 || c == 6;
+            case BitBoard.BISHOP -> c == 2 || c == 5;
+            case BitBoard.ROOK -> c == 0 || c == 7;
+            case BitBoard.QUEEN -> c == 3;
+            default -> c == 4;
+        };
+    }
 }
@@ -0,0 +1,76 @@
+package model.board;
+
+/**
+ * Geração de lances legais em arrays de int ({@link PackedMove}) fornecidos
+ * pelo chamador, sem alocação. Promoções geram as quatro peças, dama primeiro.
+ */
+public final class MoveGenerator {
+
+    /** Maior número de lances legais de uma posição (com folga). */
+    public static final int MAX_MOVES = 256;
+
+    private static final int[] PROMOTIONS = { BitBoard.QUEEN, BitBoard.KNIGHT, BitBoard.ROOK, BitBoard.BISHOP };
+
+    // Linhas 8 e 1 (destinos de promoção)
+    private static final long PROMOTION_RANKS = 0xFFL | (0xFFL << 56);
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Escreve os lances legais do lado a jogar em {@code moves} a partir de
+     * {@code start} e devolve o índice seguinte ao último lance.
+     */
+    public static int generateLegal(BitBoard b, int[] moves, int start) {
+        return generate(b, moves, start, -1L, false);
+    }
+
+    /**
+     * Lances táticos (quiescência): capturas, en passant e promoções a dama.
+     */
+    public static int generateTactical(BitBoard b, int[] moves, int start) {
+        boolean white = b.whiteToMove();
+        long mask = b.occupancy(!white);
+        return generate(b, moves, start, mask, true);
+    }
+
+    // targetMask limita os destinos das peças; peões também podem ir a en passant/promoção
+    private static int generate(BitBoard b, int[] moves, int n, long targetMask, boolean queenOnly) {
+        boolean white = b.whiteToMove();
+        int ep = b.epSquare();
+        long pawnMask = targetMask | PROMOTION_RANKS | (ep >= 0 ? 1L << ep : 0L);
+        // Xeques e cravações uma vez por posição, não por lance
+        long checkers = b.checkers(white);
+        long pinned = b.pinned(white);
+
+        for (long own = b.occupancy(white); own != 0; own &= own - 1) {
+            int from = Long.numberOfTrailingZeros(own);
+            int piece = b.pieceAt(from);
+            int type = BitBoard.typeOf(piece);
+            long targets = b.legalTargets(from, checkers, pinned) & (type == BitBoard.PAWN ? pawnMask : targetMask);
+
+            for (; targets != 0; targets &= targets - 1) {
+                int to = Long.numberOfTrailingZeros(targets);
+                int captured = b.pieceAt(to);
+                int flags = 0;
+                if (type == BitBoard.PAWN) {
+                    if (to == ep) {
+                        flags = PackedMove.FLAG_EN_PASSANT;
+                        captured = BitBoard.code(BitBoard.PAWN, !white);
+                    } else if (Math.abs(to - from) == 16) {
+                        flags = PackedMove.FLAG_DOUBLE_PUSH;
+                    } else if ((PROMOTION_RANKS & (1L << to)) != 0) {
+                        int count = queenOnly ? 1 : PROMOTIONS.length;
+                        for (int i = 0; i < count; i++)
+                            moves[n++] = PackedMove.of(from, to, piece, captured, PROMOTIONS[i], 0);
+                        continue;
+                    }
+                } else if (type == BitBoard.KING && Math.abs(to - from) == 2) {
+                    flags = PackedMove.FLAG_CASTLE;
+                }
+                moves[n++] = PackedMove.of(from, to, piece, captured, 0, flags);
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,86 @@
+package model.board;
+
+/**
+ * Movimento codificado num int, para que a busca gere e guarde lances sem
+ * alocar objetos. Layout:
+ * bits 0-5 origem, bits 6-11 destino, bits 12-15 tipo da promoção (0 = nenhuma),
+ * bits 16-19 código da peça movida, bits 20-23 código da peça capturada + 1
+ * (0 = nenhuma), bits 24-26 flags (en passant, roque, avanço duplo).
+ *
+ * Os 16 bits baixos ({@link #compact(int)}) são o mesmo formato guardado na
+ * tabela de transposição. O valor 0 nunca é um lance válido (origem = destino).
+ */
+public final class PackedMove {
+
+    public static final int NONE = 0;
+
+    public static final int FLAG_EN_PASSANT = 1 << 24;
+    public static final int FLAG_CASTLE = 1 << 25;
+    public static final int FLAG_DOUBLE_PUSH = 1 << 26;
+
+    private PackedMove() {
+    }
+
+    /**
+     * @param piece     código da peça movida
+     * @param captured  código da peça capturada ou {@link BitBoard#EMPTY}
+     * @param promotion tipo da promoção ou 0
+     */
+    public static int of(int from, int to, int piece, int captured, int promotion, int flags) {
+        return from | (to << 6) | (promotion << 12) | (piece << 16) | ((captured + 1) << 20) | flags;
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /** Tipo da peça promovida ou 0. */
+    public static int promotion(int move) {
+        return (move >>> 12) & 15;
+    }
+
+    /** Código da peça movida. */
+    public static int piece(int move) {
+        return (move >>> 16) & 15;
+    }
+
+    /** Código da peça capturada ou {@link BitBoard#EMPTY}. */
+    public static int captured(int move) {
+        return ((move >>> 20) & 15) - 1;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & (15 << 20)) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (15 << 12)) != 0;
+    }
+
+    public static boolean isEnPassant(int move) {
+        return (move & FLAG_EN_PASSANT) != 0;
+    }
+
+    public static boolean isCastle(int move) {
+        return (move & FLAG_CASTLE) != 0;
+    }
+
+    /** Origem, destino e promoção (16 bits), o formato da tabela de transposição. */
+    public static int compact(int move) {
+        return move & 0xFFFF;
+    }
+
+    /** Notação de coordenadas, ex.: "e2e4", "e7e8q". */
+    public static String toString(int move) {
+        String s = squareName(from(move)) + squareName(to(move));
+        return isPromotion(move) ? s + Character.toLowerCase(BitBoard.symbolOf(promotion(move))) : s;
+    }
+
+    private static String squareName(int sq) {
+        return "" + (char) ('a' + (sq & 7)) + (char) ('8' - (sq >>> 3));
+    }
+}
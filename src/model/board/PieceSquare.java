@@ -0,0 +1,197 @@
+package model.board;
+
+/**
+ * Material + tabelas de posição (piece-square) por código de peça e casa,
+ * do ponto de vista das brancas (peças pretas entram negativas, com a tabela
+ * espelhada). Há um valor de meio-jogo e outro de final para cada entrada;
+ * a avaliação interpola entre os dois pela fase da partida. O
+ * {@link BitBoard} soma estes valores incrementalmente em put/remove, como
+ * faz com a chave {@link Zobrist}.
+ */
+public final class PieceSquare {
+
+    /** Fase máxima (material de abertura): cavalo/bispo 1, torre 2, dama 4. */
+    public static final int MAX_PHASE = 24;
+
+    private static final int[] PHASE_WEIGHT = { 0, 1, 1, 2, 4, 0 };
+
+    // Valores das peças (centipawns) no meio-jogo e no final
+    private static final int[] VALUES_MG = { 100, 320, 330, 500, 900, 20000 };
+    private static final int[] VALUES_EG = { 120, 300, 330, 520, 920, 20000 };
+
+    // Tabelas de posição do lado das brancas, índice = casa (0 = a8, 63 = h1)
+    private static final int[] PAWN_MG = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    // No final o que importa é avançar: o bônus cresce até a promoção
+    private static final int[] PAWN_EG = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK_MG = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] ROOK_EG = {
+            5, 5, 5, 5, 5, 5, 5, 5,
+            10, 10, 10, 10, 10, 10, 10, 10,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MG = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    // No final o rei vai para o centro
+    private static final int[] KING_EG = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] TABLES_MG = { PAWN_MG, KNIGHT, BISHOP, ROOK_MG, QUEEN, KING_MG };
+    private static final int[][] TABLES_EG = { PAWN_EG, KNIGHT, BISHOP, ROOK_EG, QUEEN, KING_EG };
+
+    // Valor final por código (0..11) e casa, já com sinal e espelhamento
+    private static final int[][] SCORES_MG = new int[12][64];
+    private static final int[][] SCORES_EG = new int[12][64];
+
+    static {
+        for (int type = BitBoard.PAWN; type <= BitBoard.KING; type++) {
+            for (int sq = 0; sq < 64; sq++) {
+                // Para peças pretas, invertemos a tabela verticalmente (sq ^ 56)
+                SCORES_MG[BitBoard.code(type, true)][sq] = VALUES_MG[type] + TABLES_MG[type][sq];
+                SCORES_MG[BitBoard.code(type, false)][sq] = -(VALUES_MG[type] + TABLES_MG[type][sq ^ 56]);
+                SCORES_EG[BitBoard.code(type, true)][sq] = VALUES_EG[type] + TABLES_EG[type][sq];
+                SCORES_EG[BitBoard.code(type, false)][sq] = -(VALUES_EG[type] + TABLES_EG[type][sq ^ 56]);
+            }
+        }
+    }
+
+    private PieceSquare() {
+    }
+
+    /** Material + posição de meio-jogo da peça {@code code} em {@code sq} (positivo para as brancas). */
+    public static int middlegame(int code, int sq) {
+        return SCORES_MG[code][sq];
+    }
+
+    /** Material + posição de final da peça {@code code} em {@code sq} (positivo para as brancas). */
+    public static int endgame(int code, int sq) {
+        return SCORES_EG[code][sq];
+    }
+
+    /** Valor material de meio-jogo de um tipo de peça (peão..rei). */
+    public static int value(int type) {
+        return VALUES_MG[type];
+    }
+
+    /**
+     * Fase da partida pelo material restante, de {@link #MAX_PHASE} (todas as
+     * peças) a 0 (só reis e peões); promoções podem passar do máximo, então
+     * o valor é limitado.
+     */
+    public static int phase(BitBoard b) {
+        int phase = 0;
+        for (int type = BitBoard.KNIGHT; type <= BitBoard.QUEEN; type++) {
+            phase += PHASE_WEIGHT[type] * Long.bitCount(b.pieces(type, true) | b.pieces(type, false));
+        }
+        return Math.min(phase, MAX_PHASE);
+    }
+
+    /** Interpola entre os valores de meio-jogo e de final pela fase. */
+    public static int taper(int middlegame, int endgame, int phase) {
+        return (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+    }
+
+    /** Recalcula do zero a soma de meio-jogo mantida pelo {@link BitBoard} (verificação). */
+    public static int computeMiddlegame(BitBoard b) {
+        return compute(b, SCORES_MG);
+    }
+
+    /** Recalcula do zero a soma de final mantida pelo {@link BitBoard} (verificação). */
+    public static int computeEndgame(BitBoard b) {
+        return compute(b, SCORES_EG);
+    }
+
+    private static int compute(BitBoard b, int[][] scores) {
+        int score = 0;
+        for (long occ = b.occupied(); occ != 0; occ &= occ - 1) {
+            int sq = Long.numberOfTrailingZeros(occ);
+            score += scores[b.pieceAt(sq)][sq];
+        }
+        return score;
+    }
+}
@@ -1,21 +1,47 @@
 // ========================= src/model/board/Position.java =========================
 package model.board;
 
-import java.util.Objects;
-
+/**
+ * Casa do tabuleiro (imutável). As 64 casas válidas são instâncias únicas
+ * obtidas por {@link #of(int, int)} / {@link #of(int)}; apenas coordenadas
+ * fora do tabuleiro (testadas com {@link #isValid()}) geram objetos novos.
+ */
 public final class Position {
 
+    private static final Position[] SQUARES = new Position[64];
+
+    static {
+        for (int i = 0; i < 64; i++)
+            SQUARES[i] = new Position(i >>> 3, i & 7);
+    }
+
     private final int row;    // 0..7 (0 = topo / linha 8, 7 = fundo / linha 1)
     private final int column; // 0..7 (0 = 'a', 7 = 'h')
 
-    public Position(int row, int column) {
+    // Privado: casas válidas saem sempre de of(), nunca como instâncias novas
+    private Position(int row, int column) {
         this.row = row;
         this.column = column;
     }
 
+    /** Instância compartilhada da casa; coordenadas fora do tabuleiro criam uma nova. */
+    public static Position of(int row, int column) {
+        if (((row | column) & ~7) == 0)
+            return SQUARES[(row << 3) | column];
+        return new Position(row, column);
+    }
+
+    /** Instância compartilhada da casa de índice {@code row * 8 + column} (0..63). */
+    public static Position of(int index) {
+        return SQUARES[index];
+    }
+
     public int getRow() { return row; }
     public int getColumn() { return column; }
 
+    /** Índice row * 8 + column (o mesmo do {@link BitBoard}). */
+    public int index() { return (row << 3) + column; }
+
     /** Retorna true se a posição estiver dentro do tabuleiro 8x8. */
     public boolean isValid() {
         return row >= 0 && row < 8 && column >= 0 && column < 8;
@@ -31,7 +57,7 @@ public final class Position {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, column);
+        return (row << 3) + column;
     }
 
     /** Notação algébrica padrão (ex: a1, e4, h8). */
@@ -0,0 +1,69 @@
+package model.board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chaves Zobrist para hash de posição (peça×casa, lado a jogar, direitos de
+ * roque e coluna de en passant). Geradas com semente fixa, portanto estáveis
+ * entre execuções.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    static final long[][] PIECES = new long[12][64];
+    static final long[] CASTLING = new long[16];
+    static final long[] EP_FILE = new long[8];
+    static final long SIDE;
+
+    static {
+        SplittableRandom rnd = new SplittableRandom(SEED);
+        for (int code = 0; code < 12; code++)
+            for (int sq = 0; sq < 64; sq++)
+                PIECES[code][sq] = rnd.nextLong();
+        // Cada combinação de direitos é o XOR das chaves dos direitos individuais
+        long[] rights = { rnd.nextLong(), rnd.nextLong(), rnd.nextLong(), rnd.nextLong() };
+        for (int mask = 0; mask < 16; mask++)
+            for (int bit = 0; bit < 4; bit++)
+                if ((mask & (1 << bit)) != 0)
+                    CASTLING[mask] ^= rights[bit];
+        for (int file = 0; file < 8; file++)
+            EP_FILE[file] = rnd.nextLong();
+        SIDE = rnd.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(int code, int sq) {
+        return PIECES[code][sq];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /** Chave da casa de en passant (pela coluna) ou 0 se não houver. */
+    public static long enPassant(int epSquare) {
+        return epSquare < 0 ? 0L : EP_FILE[epSquare & 7];
+    }
+
+    /** Chave do lado a jogar (aplicada quando as pretas jogam). */
+    public static long side() {
+        return SIDE;
+    }
+
+    /** Calcula a chave do zero (usado em setup e verificações). */
+    public static long compute(BitBoard b) {
+        long key = 0L;
+        for (long occ = b.occupied(); occ != 0; occ &= occ - 1) {
+            int sq = Long.numberOfTrailingZeros(occ);
+            key ^= PIECES[b.pieceAt(sq)][sq];
+        }
+        key ^= CASTLING[b.castlingRights()];
+        key ^= enPassant(b.epSquare());
+        if (!b.whiteToMove())
+            key ^= SIDE;
+        return key;
+    }
+}
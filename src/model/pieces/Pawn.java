@@ -20,7 +20,7 @@ public class Pawn extends Piece {
         Pawn clone = new Pawn(newBoard, isWhite);
         clone.moved = this.moved;
         if (this.position != null) {
-            clone.setPosition(new Position(position.getRow(), position.getColumn()));
+            clone.setPosition(Position.of(position.getRow(), position.getColumn()));
         }
         return clone;
     }
@@ -31,20 +31,20 @@ public class Pawn extends Piece {
         int dir = isWhite ? -1 : 1;
 
         // Um passo à frente
-        Position f1 = new Position(position.getRow() + dir, position.getColumn());
+        Position f1 = Position.of(position.getRow() + dir, position.getColumn());
         if (f1.isValid() && board.get(f1) == null) {
             moves.add(f1);
 
             // Dois passos à frente (se ainda não moveu)
-            Position f2 = new Position(position.getRow() + 2 * dir, position.getColumn());
+            Position f2 = Position.of(position.getRow() + 2 * dir, position.getColumn());
             if (!moved && f2.isValid() && board.get(f2) == null) {
                 moves.add(f2);
             }
         }
 
         // Capturas diagonais
-        Position left = new Position(position.getRow() + dir, position.getColumn() - 1);
-        Position right = new Position(position.getRow() + dir, position.getColumn() + 1);
+        Position left = Position.of(position.getRow() + dir, position.getColumn() - 1);
+        Position right = Position.of(position.getRow() + dir, position.getColumn() + 1);
 
         if (left.isValid()) {
             Piece target = board.get(left);
@@ -65,15 +65,6 @@ public class Pawn extends Piece {
 
     @Override
     public List<Position> getAttacks() {
-        List<Position> attacks = new ArrayList<>();
-        int dir = isWhite ? -1 : 1;
-
-        Position left = new Position(position.getRow() + dir, position.getColumn() - 1);
-        Position right = new Position(position.getRow() + dir, position.getColumn() + 1);
-
-        if (left.isValid()) attacks.add(left);
-        if (right.isValid()) attacks.add(right);
-
-        return attacks;
+        return positions(Attacks.pawn(position.index(), isWhite));
     }
 }
@@ -39,14 +39,23 @@ public abstract String getSymbol(); // K,Q,R,B,N,P
 public abstract Piece copyFor(Board newBoard);
 
 
-protected boolean empty(int r, int c){ return new Position(r,c).isValid() && board.get(new Position(r,c))==null; }
+protected boolean empty(int r, int c){ Position p = Position.of(r,c); return p.isValid() && board.get(p)==null; }
 protected boolean enemy(int r, int c){
-Position p = new Position(r,c);
+Position p = Position.of(r,c);
 if(!p.isValid()) return false; Piece q = board.get(p);
 return q!=null && q.isWhite()!=this.isWhite;
 }
 protected void addIfFreeOrEnemy(List<Position> list, int r, int c){
-Position p = new Position(r,c); if(!p.isValid()) return;
+Position p = Position.of(r,c); if(!p.isValid()) return;
 var q = board.get(p); if(q==null || q.isWhite()!=this.isWhite) list.add(p);
 }
+// Casas de um bitboard (ex.: máscaras de model.board.Attacks) como posições
+protected static List<Position> positions(long squares){
+List<Position> list = new ArrayList<>(Long.bitCount(squares));
+for(long t = squares; t != 0; t &= t - 1) list.add(Position.of(Long.numberOfTrailingZeros(t)));
+return list;
+}
+// Destinos a partir da máscara de ataques (exclui casas próprias)
+protected List<Position> movesFromMask(long attacks){ return positions(attacks & ~board.occupancy(isWhite)); }
+protected long occupied(){ return board.occupied(); }
 }
\ No newline at end of file
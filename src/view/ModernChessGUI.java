@@ -283,7 +283,7 @@ public class ModernChessGUI extends JFrame {
         if (aiEnabledCheckbox.isSelected() && !game.whiteToMove())
             return;
 
-        Position clickedPos = new Position(row, col);
+        Position clickedPos = Position.of(row, col);
         Piece clickedPiece = game.board().get(clickedPos);
 
         if (selectedSquare == null) {
@@ -404,7 +404,7 @@ public class ModernChessGUI extends JFrame {
         // Atualiza ícones das peças
         for (int row = 0; row < 8; row++) {
             for (int col = 0; col < 8; col++) {
-                Position pos = new Position(row, col);
+                Position pos = Position.of(row, col);
                 Piece piece = game.board().get(pos);
                 JButton square = chessBoard.getSquare(row, col);
 
@@ -463,17 +463,10 @@ public class ModernChessGUI extends JFrame {
 
         // Xeque
         if (game.inCheck(game.whiteToMove())) {
-            // Encontra e destaca o rei em xeque
-            for (int row = 0; row < 8; row++) {
-                for (int col = 0; col < 8; col++) {
-                    Position pos = new Position(row, col);
-                    Piece piece = game.board().get(pos);
-                    if (piece != null && piece.getSymbol().equals("K") &&
-                            piece.isWhite() == game.whiteToMove()) {
-                        chessBoard.setSquareHighlight(row, col, ModernChessBoard.HighlightType.CHECK);
-                        break;
-                    }
-                }
+            // Destaca o rei em xeque (casa mantida pelo Board)
+            Position king = game.board().kingPosition(game.whiteToMove());
+            if (king != null) {
+                chessBoard.setSquareHighlight(king.getRow(), king.getColumn(), ModernChessBoard.HighlightType.CHECK);
             }
         }
     }